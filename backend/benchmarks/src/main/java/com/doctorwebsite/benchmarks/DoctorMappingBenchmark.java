@@ -0,0 +1,41 @@
+package com.doctorwebsite.benchmarks;
+
+import com.doctorwebsite.dto.DoctorDTO;
+import com.doctorwebsite.entity.Doctor;
+import com.doctorwebsite.service.DoctorMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DoctorMapper.toDTO — runs for every doctor in every uncached catalog response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoctorMappingBenchmark {
+
+    private Doctor doctor;
+
+    @Setup
+    public void setUp() {
+        doctor = Fixtures.doctor();
+    }
+
+    @Benchmark
+    public DoctorDTO mapToDTO() {
+        return DoctorMapper.toDTO(doctor);
+    }
+}
@@ -0,0 +1,84 @@
+package com.doctorwebsite.benchmarks;
+
+import com.doctorwebsite.dto.ApiResponse;
+import com.doctorwebsite.dto.AppointmentDTO;
+import com.doctorwebsite.exception.GlobalExceptionHandler;
+import com.doctorwebsite.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error-path cost in GlobalExceptionHandler: throwing the exception (stack trace included)
+ * plus building the error response, for the three errors clients hit most.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MethodParameter bookingParameter;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        bookingParameter = new MethodParameter(
+                ExceptionHandlerBenchmark.class.getDeclaredMethod("book", AppointmentDTO.class), 0);
+    }
+
+    /** Stand-in for the controller method whose @Valid argument failed */
+    @SuppressWarnings("unused")
+    private void book(AppointmentDTO dto) {
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<Void>> notFound() {
+        try {
+            throw new ResourceNotFoundException("Appointment", 42L);
+        } catch (ResourceNotFoundException e) {
+            return handler.handleResourceNotFound(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<Void>> illegalArgument() {
+        try {
+            throw new IllegalArgumentException("Invalid status: ARCHIVED");
+        } catch (IllegalArgumentException e) {
+            return handler.handleIllegalArgument(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<Map<String, String>>> validationErrors() {
+        BeanPropertyBindingResult result = new BeanPropertyBindingResult(new AppointmentDTO(), "appointmentDTO");
+        result.addError(new FieldError("appointmentDTO", "phone", "call me maybe", false,
+                null, null, "Invalid phone number format"));
+        result.addError(new FieldError("appointmentDTO", "patientName", "", false,
+                null, null, "Patient name is required"));
+        try {
+            throw new MethodArgumentNotValidException(bookingParameter, result);
+        } catch (MethodArgumentNotValidException e) {
+            return handler.handleValidationErrors(e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.doctorwebsite.benchmarks;
+
+import com.doctorwebsite.entity.Appointment;
+import com.doctorwebsite.entity.Doctor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Realistic sample entities shared by the benchmarks.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Appointment appointment(long id) {
+        Appointment a = new Appointment();
+        a.setId(id);
+        a.setDoctorId(1L);
+        a.setPatientName("Rahim Uddin " + id);
+        a.setPhone("01700" + String.format("%06d", id % 1_000_000));
+        a.setPatientEmail("patient" + id + "@example.com");
+        a.setAppointmentDatetime(LocalDateTime.of(2026, 3, 10, 10, 0).plusMinutes(30 * id));
+        a.setReason("Regular checkup — persistent headache for two weeks, mild fever in the evenings.");
+        a.setStatus(Appointment.AppointmentStatus.values()[(int) (id % 3)]);
+        a.setCreatedAt(LocalDateTime.of(2026, 3, 1, 9, 15));
+        a.setUpdatedAt(a.getCreatedAt());
+        a.setVersion(id % 4);
+        return a;
+    }
+
+    static List<Appointment> appointments(int count) {
+        List<Appointment> list = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            list.add(appointment(i));
+        }
+        return list;
+    }
+
+    static Doctor doctor() {
+        Doctor d = new Doctor();
+        d.setId(1L);
+        d.setName("Dr. Ahmed Rahman");
+        d.setDegree("MBBS, FCPS (Medicine)");
+        d.setSpecialization("Internal Medicine");
+        d.setExperienceYears(15);
+        d.setClinicTiming("Mon-Fri: 9:00 AM - 6:00 PM");
+        d.setPhotoUrl("https://example.com/photo.jpg");
+        d.setBio("Experienced physician specialising in internal medicine and preventive care.");
+        d.setClinicName("HealthCare Clinic");
+        d.setConsultationFee(800.0);
+        return d;
+    }
+}
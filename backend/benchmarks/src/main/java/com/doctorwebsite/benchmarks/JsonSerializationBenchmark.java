@@ -0,0 +1,62 @@
+package com.doctorwebsite.benchmarks;
+
+import com.doctorwebsite.dto.ApiResponse;
+import com.doctorwebsite.entity.Appointment;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of appointment responses, with an ObjectMapper configured the way
+ * Spring Boot configures the one behind the REST controllers (java.time module, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<Appointment>> listResponse;
+    private Appointment appointment;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = mapper.writer();
+        listResponse = ApiResponse.success("Appointments fetched", Fixtures.appointments(size));
+        appointment = Fixtures.appointment(42);
+    }
+
+    /** ApiResponse&lt;List&lt;Appointment&gt;&gt; — the admin listing */
+    @Benchmark
+    public byte[] appointmentList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(listResponse);
+    }
+
+    /** A bare Appointment entity (independent of size) */
+    @Benchmark
+    public byte[] appointmentEntity() throws JsonProcessingException {
+        return writer.writeValueAsBytes(appointment);
+    }
+}
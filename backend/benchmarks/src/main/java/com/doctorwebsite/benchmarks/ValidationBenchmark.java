@@ -0,0 +1,64 @@
+package com.doctorwebsite.benchmarks;
+
+import com.doctorwebsite.dto.AppointmentDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of a booking request, as @Valid runs it on POST /api/appointments.
+ * The invalid case trips the phone @Pattern, so it includes building the violation and its message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private AppointmentDTO valid;
+    private AppointmentDTO badPhone;
+
+    @Setup
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        LocalDateTime when = LocalDateTime.of(2026, 3, 10, 10, 0);
+        valid = new AppointmentDTO("Rahim Uddin", "01700000000", "rahim@example.com", when, "Regular checkup", null);
+        badPhone = new AppointmentDTO("Rahim Uddin", "call me maybe", "rahim@example.com", when, "Regular checkup", null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<AppointmentDTO>> validDto() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<AppointmentDTO>> invalidPhone() {
+        return validator.validate(badPhone);
+    }
+}
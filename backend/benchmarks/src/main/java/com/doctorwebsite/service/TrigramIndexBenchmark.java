@@ -0,0 +1,80 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.dto.PatientSearchHit;
+import com.doctorwebsite.entity.Appointment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TrigramIndex.search, as GET /api/appointments/search runs it for the first page of 20.
+ * Sits in the service package because the index is package-private.
+ * <p>
+ * Patients are drawn from 40 first and 40 last names, so a full name matches 1 row in 1,600 and a
+ * two-letter word prefix ("an") is the broad case. Phone numbers are unique.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class TrigramIndexBenchmark {
+
+    private static final String[] FIRST = {
+            "Rahim", "Karim", "Fatema", "Ayesha", "Nusrat", "Tanvir", "Sabbir", "Mahmud", "Farhana", "Jannat",
+            "Imran", "Rakib", "Sumaiya", "Tasnim", "Arif", "Shakil", "Nadia", "Rubina", "Habib", "Masud",
+            "Anika", "Sadia", "Hasan", "Mehedi", "Rina", "Salma", "Jahid", "Sohel", "Mitu", "Shirin",
+            "Anwar", "Parvin", "Kamal", "Nasrin", "Ripon", "Lipi", "Zahid", "Munni", "Faisal", "Shapla"};
+    private static final String[] LAST = {
+            "Uddin", "Hossain", "Rahman", "Islam", "Ahmed", "Akter", "Begum", "Khan", "Chowdhury", "Sarkar",
+            "Mia", "Sheikh", "Talukder", "Biswas", "Das", "Roy", "Haque", "Karim", "Alam", "Siddique",
+            "Mollah", "Bhuiyan", "Kabir", "Sultana", "Mondal", "Paul", "Saha", "Barua", "Ali", "Miah",
+            "Nahar", "Rashid", "Sikder", "Howlader", "Patwary", "Majumder", "Gazi", "Munshi", "Khatun", "Bepari"};
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private TrigramIndex index;
+    private String phoneQuery;
+
+    @Setup
+    public void setUp() {
+        index = new TrigramIndex();
+        LocalDateTime start = LocalDateTime.of(2026, 1, 5, 9, 0);
+        Appointment.AppointmentStatus[] statuses = Appointment.AppointmentStatus.values();
+        for (int i = 0; i < rows; i++) {
+            String name = FIRST[i % FIRST.length] + " " + LAST[(i / FIRST.length) % LAST.length];
+            String phone = String.format("017%08d", (i * 7_919L) % 100_000_000L);
+            index.upsert((long) i + 1, name, phone, start.plusMinutes(30L * i), statuses[i % statuses.length]);
+        }
+        phoneQuery = String.format("%08d", (rows / 2 * 7_919L) % 100_000_000L).substring(2);
+    }
+
+    @Benchmark
+    public List<PatientSearchHit> fullName() {
+        return index.search("Tasnim Chowdhury", 0, 20, new long[1]);
+    }
+
+    @Benchmark
+    public List<PatientSearchHit> phoneDigits() {
+        return index.search(phoneQuery, 0, 20, new long[1]);
+    }
+
+    @Benchmark
+    public List<PatientSearchHit> commonWordPrefix() {
+        return index.search("an", 0, 20, new long[1]);
+    }
+}
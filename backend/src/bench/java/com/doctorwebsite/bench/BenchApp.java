@@ -0,0 +1,85 @@
+package com.doctorwebsite.bench;
+
+import com.doctorwebsite.DoctorWebsiteApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Boots the application in-process on the H2 profile for benchmarks and stress runs.
+ * Each start gets its own in-memory database, contact journal directory and a random HTTP port.
+ */
+final class BenchApp {
+
+    private static final AtomicInteger RUNS = new AtomicInteger();
+
+    private BenchApp() {
+    }
+
+    /**
+     * @param overrides extra properties as "key=value", applied on top of the h2 profile
+     */
+    static ConfigurableApplicationContext start(String... overrides) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench" + RUNS.incrementAndGet()
+                        + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DATABASE_TO_UPPER=FALSE",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--management.server.port=-1",
+                // Every client is localhost here; runs that measure limits turn them back on
+                "--app.rate-limit.enabled=false",
+                "--app.load-shedding.max-pool-waiters=0",
+                "--app.contact.journal.dir=" + tempDir("contact-journal"),
+                "--logging.level.com.doctorwebsite=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"));
+        for (String override : overrides) {
+            args.add("--" + override);
+        }
+        SpringApplication app = new SpringApplication(DoctorWebsiteApplication.class);
+        app.setAdditionalProfiles("h2");
+        return app.run(args.toArray(String[]::new));
+    }
+
+    private static String tempDir(String prefix) {
+        try {
+            return Files.createTempDirectory(prefix).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    /**
+     * Future start times inside the seeded clinic hours (Mon-Fri 9:00-18:00), {@code stepMinutes} apart,
+     * starting a week from today.
+     */
+    static List<LocalDateTime> clinicStarts(int count, int slotMinutes, int stepMinutes) {
+        List<LocalDateTime> starts = new ArrayList<>(count);
+        LocalDate day = LocalDate.now().plusDays(7);
+        while (starts.size() < count) {
+            if (day.getDayOfWeek().getValue() <= DayOfWeek.FRIDAY.getValue()) {
+                for (LocalTime t = LocalTime.of(9, 0);
+                     !t.plusMinutes(slotMinutes).isAfter(LocalTime.of(18, 0)) && starts.size() < count;
+                     t = t.plusMinutes(stepMinutes)) {
+                    starts.add(day.atTime(t));
+                }
+            }
+            day = day.plusDays(1);
+        }
+        return starts;
+    }
+}
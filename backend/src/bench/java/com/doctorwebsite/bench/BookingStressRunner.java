@@ -0,0 +1,120 @@
+package com.doctorwebsite.bench;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent booking stress run on the H2 profile.
+ * <p>
+ * Fires {@code stress.requests} POST /api/appointments calls from {@code stress.concurrency} threads,
+ * all released at once, at a small pool of candidate start times spaced half a slot apart — so requests
+ * collide both on identical times and on partially overlapping ones. Afterwards it reads the table back
+ * and fails (exit code 1) if any two slot-holding appointments of a doctor overlap.
+ * <p>
+ * mvn -Pbench compile exec:java -Dbench.main=com.doctorwebsite.bench.BookingStressRunner
+ * -Dstress.requests=5000 -Dstress.concurrency=200 -Dstress.candidates=120
+ */
+public final class BookingStressRunner {
+
+    private BookingStressRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int requests = Integer.getInteger("stress.requests", 5000);
+        int concurrency = Integer.getInteger("stress.concurrency", 200);
+        int candidates = Integer.getInteger("stress.candidates", 120);
+
+        int exitCode;
+        try (ConfigurableApplicationContext context = BenchApp.start()) {
+            int slotMinutes = context.getEnvironment().getProperty("app.slots.duration-minutes", Integer.class, 30);
+            // Half a slot apart, so neighbouring candidates partially overlap
+            List<LocalDateTime> starts = BenchApp.clinicStarts(candidates, slotMinutes, Math.max(1, slotMinutes / 2));
+            String url = BenchApp.baseUrl(context) + "/api/appointments";
+
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+            ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+            CountDownLatch go = new CountDownLatch(1);
+            AtomicInteger created = new AtomicInteger();
+            AtomicInteger conflicts = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+
+            for (int i = 0; i < requests; i++) {
+                int n = i;
+                pool.execute(() -> {
+                    LocalDateTime start = starts.get(ThreadLocalRandom.current().nextInt(starts.size()));
+                    String body = """
+                            {"patientName":"Stress Patient %d","phone":"0170%07d","appointmentDatetime":"%s","reason":"stress"}
+                            """.formatted(n, n, start);
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                    try {
+                        go.await();
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        switch (status) {
+                            case 201 -> created.incrementAndGet();
+                            case 409 -> conflicts.incrementAndGet();
+                            case 400, 429 -> rejected.incrementAndGet();
+                            default -> failed.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    }
+                });
+            }
+
+            long t0 = System.nanoTime();
+            go.countDown();
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.MINUTES);
+            double seconds = (System.nanoTime() - t0) / 1e9;
+
+            int overlaps = countOverlaps(context.getBean(JdbcTemplate.class), slotMinutes);
+
+            System.out.printf("%nBooking stress: %d requests, %d threads, %d candidate starts (%d-minute slots)%n",
+                    requests, concurrency, starts.size(), slotMinutes);
+            System.out.printf("  created=%d conflicts=%d rejected=%d failed=%d%n",
+                    created.get(), conflicts.get(), rejected.get(), failed.get());
+            System.out.printf("  elapsed=%.2fs throughput=%.0f req/s%n", seconds, requests / seconds);
+            System.out.printf("  overlapping bookings in database: %d%n", overlaps);
+            exitCode = overlaps == 0 && failed.get() == 0 ? 0 : 1;
+        }
+        System.exit(exitCode);
+    }
+
+    /** Adjacent slot-holding appointments of the same doctor that start less than one slot apart */
+    private static int countOverlaps(JdbcTemplate jdbc, int slotMinutes) {
+        int[] overlaps = {0};
+        Object[] prevDoctor = {null};
+        LocalDateTime[] prevStart = {null};
+        jdbc.query("SELECT doctor_id, appointment_datetime FROM appointments "
+                + "WHERE status <> 'CANCELLED' ORDER BY doctor_id, appointment_datetime", rs -> {
+            Object doctor = rs.getObject("doctor_id");
+            LocalDateTime start = rs.getTimestamp("appointment_datetime").toLocalDateTime();
+            if (prevStart[0] != null && Objects.equals(doctor, prevDoctor[0])
+                    && start.isBefore(prevStart[0].plusMinutes(slotMinutes))) {
+                overlaps[0]++;
+            }
+            prevDoctor[0] = doctor;
+            prevStart[0] = start;
+        });
+        return overlaps[0];
+    }
+}
@@ -0,0 +1,137 @@
+package com.doctorwebsite.bench;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fan-out of GET /api/appointments/events to many idle dashboards.
+ * <p>
+ * Boots the app on H2 with a small Tomcat thread pool, opens {@code events.clients} SSE connections,
+ * and reports how many JVM threads they cost once all are idle. Then books {@code events.bookings}
+ * appointments and measures, per delivered event, the time from the booking request to its arrival.
+ * Fails when a subscriber misses a booking.
+ * <p>
+ * mvn -Pbench compile exec:java -Dbench.main=com.doctorwebsite.bench.EventFanoutCheck -Devents.clients=5000
+ */
+public final class EventFanoutCheck {
+
+    private static final Pattern PATIENT = Pattern.compile("\"patientName\":\"Fanout (\\d+)\"");
+
+    private EventFanoutCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("events.clients", 2000);
+        int bookings = Integer.getInteger("events.bookings", 50);
+        String admin = "adminPassword=" + System.getProperty("load.adminPassword", "admin123");
+
+        try (ConfigurableApplicationContext context = BenchApp.start("server.tomcat.threads.max=20",
+                "app.events.max-subscribers=" + (clients + 10),
+                // Only ever raise Tomcat's limit (8192 by default) for runs with more clients
+                "server.tomcat.max-connections=" + Math.max(8192, clients + 200))) {
+            String base = BenchApp.baseUrl(context);
+            HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            long[] bookedAt = new long[bookings];
+            ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+            CountDownLatch ready = new CountDownLatch(clients);
+            CountDownLatch delivered = new CountDownLatch(clients * bookings);
+            AtomicInteger resyncs = new AtomicInteger();
+            HttpRequest subscribe = HttpRequest.newBuilder(URI.create(base + "/api/appointments/events?" + admin))
+                    .header("Accept", "text/event-stream").GET().build();
+            for (int i = 0; i < clients; i++) {
+                http.sendAsync(subscribe, HttpResponse.BodyHandlers.fromLineSubscriber(new LineSubscriber(line -> {
+                    if (line.equals("event:ready")) {
+                        ready.countDown();
+                    } else if (line.equals("event:resync")) {
+                        resyncs.incrementAndGet();
+                    } else if (line.startsWith("data:")) {
+                        Matcher m = PATIENT.matcher(line);
+                        if (m.find()) {
+                            latencies.add(System.nanoTime() - bookedAt[Integer.parseInt(m.group(1))]);
+                            delivered.countDown();
+                        }
+                    }
+                })));
+            }
+            if (!ready.await(60, TimeUnit.SECONDS)) {
+                throw new IllegalStateException((clients - ready.getCount()) + " of " + clients + " subscribers connected");
+            }
+            Thread.sleep(1000);
+            int threadsIdle = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            List<LocalDateTime> starts = BenchApp.clinicStarts(bookings, 30, 30);
+            for (int i = 0; i < bookings; i++) {
+                String body = """
+                        {"patientName":"Fanout %d","phone":"0176%07d","appointmentDatetime":"%s"}
+                        """.formatted(i, i, starts.get(i));
+                bookedAt[i] = System.nanoTime();
+                HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(base + "/api/appointments"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 201) {
+                    throw new IllegalStateException("Booking failed: HTTP " + response.statusCode() + " " + response.body());
+                }
+            }
+            boolean complete = delivered.await(60, TimeUnit.SECONDS);
+
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("%nGET /api/appointments/events, %d subscribers, %d bookings%n", clients, bookings);
+            System.out.printf("  JVM threads: %d before connecting, %d with all subscribers idle%n",
+                    threadsBefore, threadsIdle);
+            System.out.printf("  delivered %d of %d events, %d resyncs%n",
+                    sorted.length, (long) clients * bookings, resyncs.get());
+            if (sorted.length > 0) {
+                System.out.printf("  booking -> event latency: p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                        percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6, sorted[sorted.length - 1] / 1e6);
+            }
+            if (!complete) {
+                throw new IllegalStateException(delivered.getCount() + " events were not delivered");
+            }
+        }
+        System.exit(0);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    /** Non-blocking line consumer, so thousands of open streams need no client threads either */
+    private record LineSubscriber(Consumer<String> onLine) implements Flow.Subscriber<String> {
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            onLine.accept(line);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            System.err.println("Subscriber failed: " + throwable);
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
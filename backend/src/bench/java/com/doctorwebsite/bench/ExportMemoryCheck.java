@@ -0,0 +1,132 @@
+package com.doctorwebsite.bench;
+
+import com.doctorwebsite.entity.Appointment;
+import com.doctorwebsite.repository.AppointmentBatchWriter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heap use of GET /api/appointments/export as the table grows.
+ * <p>
+ * Boots the app on H2 and, for each row count in {@code export.rows}, tops the table up to that many
+ * appointments and downloads the export in each format while sampling used heap every 10 ms.
+ * Streaming works when the peak heap growth stays about the same from the smallest to the largest table.
+ * The app runs in this JVM, so run with a fixed heap (e.g. MAVEN_OPTS=-Xmx512m) for comparable numbers.
+ * <p>
+ * mvn -Pbench compile exec:java -Dbench.main=com.doctorwebsite.bench.ExportMemoryCheck
+ * -Dexport.rows=20000,100000,500000
+ */
+public final class ExportMemoryCheck {
+
+    private ExportMemoryCheck() {
+    }
+
+    private record Result(String format, int rows, long lines, long bytes, double seconds, long peakGrowthBytes) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = Arrays.stream(System.getProperty("export.rows", "20000,100000,500000").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).sorted().toArray();
+        String admin = "adminPassword=" + System.getProperty("load.adminPassword", "admin123");
+
+        List<Result> results = new ArrayList<>();
+        try (ConfigurableApplicationContext context = BenchApp.start()) {
+            String base = BenchApp.baseUrl(context) + "/api/appointments/export?" + admin + "&format=";
+            HttpClient http = HttpClient.newHttpClient();
+            int seeded = 0;
+            for (int rows : sizes) {
+                seed(context, seeded, rows);
+                seeded = rows;
+                for (String format : new String[]{"csv", "ndjson"}) {
+                    results.add(download(http, base + format, format, rows));
+                }
+            }
+        }
+
+        System.out.printf("%nGET /api/appointments/export%n");
+        System.out.printf("  %-7s %10s %10s %10s %8s %10s %14s%n",
+                "format", "rows", "lines", "MB", "s", "rows/s", "peak heap +MB");
+        for (Result r : results) {
+            System.out.printf("  %-7s %10d %10d %10.1f %8.2f %10.0f %14.1f%n", r.format(), r.rows(), r.lines(),
+                    r.bytes() / 1e6, r.seconds(), r.rows() / r.seconds(), r.peakGrowthBytes() / 1e6);
+        }
+        System.exit(0);
+    }
+
+    private static Result download(HttpClient http, String url, String format, int rows) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peak = new AtomicLong(baseline);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (running.get()) {
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response = http.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Export failed: HTTP " + response.statusCode());
+        }
+        long bytes = 0;
+        long lines = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream body = response.body()) {
+            for (int n; (n = body.read(buffer)) > 0; ) {
+                bytes += n;
+                for (int i = 0; i < n; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        running.set(false);
+        sampler.join();
+        return new Result(format, rows, lines, bytes, seconds, peak.get() - baseline);
+    }
+
+    /** Insert appointments number [from, to) */
+    private static void seed(ConfigurableApplicationContext context, int from, int to) {
+        AppointmentBatchWriter writer = context.getBean(AppointmentBatchWriter.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        LocalDateTime start = LocalDateTime.now().plusYears(1).withSecond(0).withNano(0);
+        for (int chunk = from; chunk < to; chunk += 1000) {
+            List<Appointment> batch = new ArrayList<>();
+            for (int i = chunk; i < Math.min(to, chunk + 1000); i++) {
+                Appointment a = new Appointment();
+                a.setPatientName("Export Patient " + i);
+                a.setPhone("0173" + String.format("%07d", i));
+                a.setPatientEmail("patient" + i + "@example.com");
+                a.setAppointmentDatetime(start.plusMinutes(30L * i));
+                a.setReason("Follow-up, \"export\" check " + i);
+                batch.add(a);
+            }
+            tx.executeWithoutResult(status -> writer.insertAll(batch));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.doctorwebsite.bench;
+
+import com.doctorwebsite.dto.AppointmentDTO;
+import com.doctorwebsite.service.AppointmentService;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Booking throughput with and without group commit.
+ * <p>
+ * Boots the app twice on H2 — once per mode — and has {@code bench.threads} threads call
+ * AppointmentService.bookAppointment for {@code bench.bookings} distinct, non-conflicting slots,
+ * so the measurement is the insert/commit path rather than slot contention.
+ * <p>
+ * mvn -Pbench compile exec:java -Dbench.main=com.doctorwebsite.bench.GroupCommitBenchmark
+ * -Dbench.bookings=5000 -Dbench.threads=64
+ */
+public final class GroupCommitBenchmark {
+
+    private GroupCommitBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int bookings = Integer.getInteger("bench.bookings", 5000);
+        int threads = Integer.getInteger("bench.threads", 64);
+        String batchSize = System.getProperty("bench.batchSize", "64");
+        String lingerMs = System.getProperty("bench.lingerMs", "2");
+
+        double baseline = run(bookings, threads, "app.booking.group-commit.enabled=false");
+        double grouped = run(bookings, threads,
+                "app.booking.group-commit.enabled=true",
+                "app.booking.group-commit.max-batch-size=" + batchSize,
+                "app.booking.group-commit.max-linger-ms=" + lingerMs);
+
+        System.out.printf("%nBooking insert path: %d bookings, %d threads%n", bookings, threads);
+        System.out.printf("  %-34s %10.0f bookings/s%n", "per-request transaction", baseline);
+        System.out.printf("  %-34s %10.0f bookings/s (%.2fx)%n",
+                "group commit (batch " + batchSize + ", " + lingerMs + " ms)", grouped, grouped / baseline);
+        System.exit(0);
+    }
+
+    private static double run(int bookings, int threads, String... overrides) throws InterruptedException {
+        try (ConfigurableApplicationContext context = BenchApp.start(overrides)) {
+            AppointmentService service = context.getBean(AppointmentService.class);
+            int slotMinutes = context.getEnvironment().getProperty("app.slots.duration-minutes", Integer.class, 30);
+            List<LocalDateTime> starts = BenchApp.clinicStarts(bookings, slotMinutes, slotMinutes);
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            CountDownLatch go = new CountDownLatch(1);
+            AtomicInteger failures = new AtomicInteger();
+            for (int i = 0; i < bookings; i++) {
+                AppointmentDTO dto = new AppointmentDTO("Bench Patient " + i, "0171" + String.format("%07d", i),
+                        null, starts.get(i), "benchmark", null);
+                pool.execute(() -> {
+                    try {
+                        go.await();
+                        service.bookAppointment(dto);
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                });
+            }
+            long t0 = System.nanoTime();
+            go.countDown();
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.MINUTES);
+            double seconds = (System.nanoTime() - t0) / 1e9;
+            if (failures.get() > 0) {
+                System.out.printf("  %s: %d bookings failed%n", Arrays.toString(overrides), failures.get());
+            }
+            return (bookings - failures.get()) / seconds;
+        }
+    }
+}
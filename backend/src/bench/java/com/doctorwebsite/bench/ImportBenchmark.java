@@ -0,0 +1,117 @@
+package com.doctorwebsite.bench;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import throughput on the H2 profile.
+ * <p>
+ * Writes {@code import.rows} synthetic appointments to a CSV and an NDJSON file (every 1000th record
+ * invalid, to exercise per-line error reporting), POSTs each file to /api/import/appointments and prints
+ * the server's report. Fails when either format stays below {@code import.targetRowsPerSecond}.
+ * <p>
+ * Both formats are first imported once with {@code import.warmupRows} records, unmeasured, so the
+ * measured runs see JIT-compiled parsing and insert paths rather than the interpreter. Those rows stay in
+ * the table.
+ * <p>
+ * mvn -Pbench compile exec:java -Dbench.main=com.doctorwebsite.bench.ImportBenchmark -Dimport.rows=1000000
+ */
+public final class ImportBenchmark {
+
+    private static final Pattern FIELD = Pattern.compile("\"(records|imported|failed|rowsPerSecond|seconds)\":([0-9.]+)");
+
+    private ImportBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = Integer.getInteger("import.rows", 500_000);
+        int warmupRows = Integer.getInteger("import.warmupRows", 20_000);
+        long target = Long.getLong("import.targetRowsPerSecond", 50_000);
+        String admin = "adminPassword=" + System.getProperty("load.adminPassword", "admin123");
+
+        Path csv = Files.createTempFile("appointments", ".csv");
+        Path ndjson = Files.createTempFile("appointments", ".ndjson");
+        Path warmupCsv = Files.createTempFile("warmup", ".csv");
+        Path warmupNdjson = Files.createTempFile("warmup", ".ndjson");
+        writeFiles(rows, csv, ndjson);
+        writeFiles(warmupRows, warmupCsv, warmupNdjson);
+
+        boolean belowTarget = false;
+        try (ConfigurableApplicationContext context = BenchApp.start()) {
+            HttpClient http = HttpClient.newHttpClient();
+            String base = BenchApp.baseUrl(context) + "/api/import/appointments?" + admin + "&format=";
+            if (warmupRows > 0) {
+                System.out.printf("%nWarm-up, %d records per file (not measured)%n", warmupRows);
+                post(http, base, "csv", warmupCsv);
+                post(http, base, "ndjson", warmupNdjson);
+            }
+            System.out.printf("%nPOST /api/import/appointments, %d records per file%n", rows);
+            belowTarget |= post(http, base, "csv", csv) < target;
+            belowTarget |= post(http, base, "ndjson", ndjson) < target;
+        } finally {
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(ndjson);
+            Files.deleteIfExists(warmupCsv);
+            Files.deleteIfExists(warmupNdjson);
+        }
+
+        if (belowTarget) {
+            throw new IllegalStateException("Import throughput below " + target + " rows/s");
+        }
+        System.out.println("Import throughput target of " + target + " rows/s met.");
+        System.exit(0);
+    }
+
+    /** Import one file, print the server's report and return its rows per second */
+    private static long post(HttpClient http, String base, String format, Path file) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(base + format))
+                .POST(HttpRequest.BodyPublishers.ofFile(file)).build(), HttpResponse.BodyHandlers.ofString());
+        double wall = (System.nanoTime() - start) / 1e9;
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Import failed: HTTP " + response.statusCode() + " " + response.body());
+        }
+        StringBuilder summary = new StringBuilder();
+        long rowsPerSecond = 0;
+        Matcher m = FIELD.matcher(response.body());
+        while (m.find()) {
+            summary.append(' ').append(m.group(1)).append('=').append(m.group(2));
+            if (m.group(1).equals("rowsPerSecond")) {
+                rowsPerSecond = Long.parseLong(m.group(2));
+            }
+        }
+        System.out.printf("  %-7s %8.2f s wall %s%n", format, wall, summary);
+        return rowsPerSecond;
+    }
+
+    private static void writeFiles(int rows, Path csv, Path ndjson) throws Exception {
+        LocalDateTime start = LocalDateTime.now().minusYears(3).withSecond(0).withNano(0);
+        String[] statuses = {"PENDING", "CONFIRMED", "CANCELLED"};
+        try (BufferedWriter c = Files.newBufferedWriter(csv, StandardCharsets.UTF_8);
+             BufferedWriter n = Files.newBufferedWriter(ndjson, StandardCharsets.UTF_8)) {
+            c.write("patient_name,phone,patient_email,appointment_datetime,status,reason\n");
+            for (int i = 0; i < rows; i++) {
+                // Every 1000th record has an invalid phone number
+                String phone = i % 1000 == 999 ? "not-a-phone" : "0174" + String.format("%07d", i);
+                String at = start.plusMinutes(15L * i).toString();
+                String status = statuses[i % 3];
+                c.write("Imported Patient " + i + "," + phone + ",patient" + i + "@example.com," + at + ","
+                        + status + ",\"Follow-up, visit " + i + "\"\n");
+                n.write("{\"patientName\":\"Imported Patient " + i + "\",\"phone\":\"" + phone
+                        + "\",\"patientEmail\":\"patient" + i + "@example.com\",\"appointmentDatetime\":\"" + at
+                        + "\",\"status\":\"" + status + "\",\"reason\":\"Follow-up, visit " + i + "\"}\n");
+            }
+        }
+    }
+}
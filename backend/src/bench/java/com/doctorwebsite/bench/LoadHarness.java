@@ -0,0 +1,301 @@
+package com.doctorwebsite.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * End-to-end HTTP load test against the app on the H2 profile.
+ * <p>
+ * Open-loop: requests arrive as a Poisson process at {@code load.rate} per second regardless of how
+ * fast the server answers, and latency is measured from each request's scheduled arrival time — so a
+ * server stall shows up in the percentiles instead of silently slowing the generator down.
+ * The mix (weights per operation) is set with {@code load.mix}. Results are printed, written as
+ * HdrHistogram percentile distributions ({@code <op>.hgrm}) and as a JSON summary for comparing builds.
+ * <p>
+ * mvn -Pbench,load compile exec:java -Dload.rate=500 -Dload.seconds=60 -Dload.label=$(git rev-parse --short HEAD)
+ */
+public final class LoadHarness {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private LoadHarness() {
+    }
+
+    enum Op {
+        DOCTORS, SERVICES, BOOK, ADMIN_LIST, STATUS_UPDATE
+    }
+
+    private record OpStats(ConcurrentHistogram latencyMicros, LongAdder ok, LongAdder errors) {
+        OpStats() {
+            this(new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(5), 3), new LongAdder(), new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("load.rate", "500"));
+        int seconds = Integer.getInteger("load.seconds", 30);
+        int warmupSeconds = Integer.getInteger("load.warmupSeconds", 10);
+        int maxInFlight = Integer.getInteger("load.maxInFlight", 10_000);
+        String mix = System.getProperty("load.mix", "DOCTORS=35,SERVICES=30,BOOK=15,ADMIN_LIST=12,STATUS_UPDATE=8");
+        String adminPassword = System.getProperty("load.adminPassword", "admin123");
+        Path outputDir = Paths.get(System.getProperty("load.output", "target/load"));
+        String label = System.getProperty("load.label", "local");
+
+        Map<Op, Integer> weights = parseMix(mix);
+        Op[] wheel = weights.entrySet().stream()
+                .flatMap(e -> Collections.nCopies(e.getValue(), e.getKey()).stream())
+                .toArray(Op[]::new);
+
+        Map<Op, OpStats> stats = new EnumMap<>(Op.class);
+        for (Op op : Op.values()) {
+            stats.put(op, new OpStats());
+        }
+        LongAdder dropped = new LongAdder();
+
+        try (ConfigurableApplicationContext context = BenchApp.start()) {
+            String base = BenchApp.baseUrl(context);
+            int slotMinutes = context.getEnvironment().getProperty("app.slots.duration-minutes", Integer.class, 30);
+            int expectedBookings = (int) (rate * (seconds + warmupSeconds) * weights.getOrDefault(Op.BOOK, 0)
+                    / wheel.length * 1.2) + 100;
+            List<LocalDateTime> starts = BenchApp.clinicStarts(expectedBookings, slotMinutes, slotMinutes);
+            AtomicInteger nextStart = new AtomicInteger();
+            AtomicLongArray bookedIds = new AtomicLongArray(expectedBookings);
+            AtomicInteger bookedCount = new AtomicInteger();
+            AtomicInteger inFlight = new AtomicInteger();
+
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            long startNanos = System.nanoTime();
+            long warmupEnd = startNanos + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long end = warmupEnd + TimeUnit.SECONDS.toNanos(seconds);
+            double meanGapNanos = 1e9 / rate;
+
+            try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                long intended = startNanos;
+                while (intended < end) {
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    long scheduled = intended;
+                    boolean measured = scheduled >= warmupEnd;
+                    Op op = wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+                    if (inFlight.incrementAndGet() > maxInFlight) {
+                        inFlight.decrementAndGet();
+                        if (measured) {
+                            dropped.increment();
+                            stats.get(op).errors().increment();
+                        }
+                    } else {
+                        workers.execute(() -> {
+                            try {
+                                HttpRequest request = buildRequest(op, base, adminPassword, starts, nextStart,
+                                        bookedIds, bookedCount);
+                                int status;
+                                String body;
+                                try {
+                                    HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                                    status = response.statusCode();
+                                    body = response.body();
+                                } catch (Exception e) {
+                                    status = -1;
+                                    body = null;
+                                }
+                                long latencyMicros = (System.nanoTime() - scheduled) / 1000;
+                                if (op == Op.BOOK && status == 201) {
+                                    rememberId(body, bookedIds, bookedCount);
+                                }
+                                if (measured) {
+                                    OpStats s = stats.get(op);
+                                    s.latencyMicros().recordValue(Math.min(latencyMicros,
+                                            s.latencyMicros().getHighestTrackableValue()));
+                                    // A 409 on booking is the slot engine doing its job, not a failure
+                                    boolean ok = status / 100 == 2 || (op == Op.BOOK && status == 409);
+                                    (ok ? s.ok() : s.errors()).increment();
+                                }
+                            } finally {
+                                inFlight.decrementAndGet();
+                            }
+                        });
+                    }
+                    intended += (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos);
+                }
+            }
+            http.close();
+        }
+
+        report(label, rate, seconds, warmupSeconds, mix, stats, dropped.sum(), outputDir);
+        System.exit(0);
+    }
+
+    private static HttpRequest buildRequest(Op op, String base, String adminPassword, List<LocalDateTime> starts,
+                                            AtomicInteger nextStart, AtomicLongArray bookedIds,
+                                            AtomicInteger bookedCount) {
+        int booked = Math.min(bookedCount.get(), bookedIds.length());
+        if (op == Op.STATUS_UPDATE && booked > 0) {
+            long id = bookedIds.get(ThreadLocalRandom.current().nextInt(booked));
+            String status = ThreadLocalRandom.current().nextBoolean() ? "CONFIRMED" : "PENDING";
+            return HttpRequest.newBuilder(URI.create(base + "/api/appointments/" + id
+                            + "/status?adminPassword=" + adminPassword))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"" + status + "\"}"))
+                    .build();
+        }
+        return switch (op) {
+            case DOCTORS -> HttpRequest.newBuilder(URI.create(base + "/api/doctors")).GET().build();
+            case SERVICES -> HttpRequest.newBuilder(URI.create(base + "/api/services")).GET().build();
+            case BOOK -> {
+                int n = nextStart.getAndIncrement();
+                LocalDateTime start = starts.get(n % starts.size());
+                String body = """
+                        {"patientName":"Load Patient %d","phone":"0173%07d","appointmentDatetime":"%s","reason":"load test"}
+                        """.formatted(n, n % 10_000_000, start);
+                yield HttpRequest.newBuilder(URI.create(base + "/api/appointments"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            }
+            // No bookings yet to update: list instead
+            case ADMIN_LIST, STATUS_UPDATE -> HttpRequest.newBuilder(URI.create(base
+                    + "/api/appointments?limit=50&adminPassword=" + adminPassword)).GET().build();
+        };
+    }
+
+    private static void rememberId(String body, AtomicLongArray bookedIds, AtomicInteger bookedCount) {
+        Matcher m = ID.matcher(body);
+        if (m.find()) {
+            int slot = bookedCount.getAndIncrement();
+            if (slot < bookedIds.length()) {
+                bookedIds.set(slot, Long.parseLong(m.group(1)));
+            }
+        }
+    }
+
+    private static Map<Op, Integer> parseMix(String mix) {
+        Map<Op, Integer> weights = new EnumMap<>(Op.class);
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split("=");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                weights.put(Op.valueOf(kv[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("load.mix has no positive weights: " + mix);
+        }
+        return weights;
+    }
+
+    private static void report(String label, double rate, int seconds, int warmupSeconds, String mix,
+                               Map<Op, OpStats> stats, long dropped, Path outputDir) throws IOException {
+        double elapsed = seconds;
+        Files.createDirectories(outputDir);
+        Histogram all = new Histogram(TimeUnit.MINUTES.toMicros(5), 3);
+        Map<String, Object> operations = new LinkedHashMap<>();
+
+        System.out.printf("%nOpen-loop load: %.0f req/s offered for %d s (after %d s warm-up), mix %s%n",
+                rate, seconds, warmupSeconds, mix);
+        System.out.printf("  %-14s %9s %8s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Op, OpStats> e : stats.entrySet()) {
+            Histogram h = e.getValue().latencyMicros().copy();
+            long errors = e.getValue().errors().sum();
+            if (h.getTotalCount() == 0 && errors == 0) {
+                continue;
+            }
+            all.add(h);
+            operations.put(e.getKey().name(), summary(h, e.getValue().ok().sum(), errors, elapsed));
+            print(e.getKey().name(), h, errors, elapsed);
+            writeHgrm(outputDir.resolve(e.getKey().name().toLowerCase() + ".hgrm"), h);
+        }
+        long totalOk = stats.values().stream().mapToLong(s -> s.ok().sum()).sum();
+        long totalErrors = stats.values().stream().mapToLong(s -> s.errors().sum()).sum();
+        print("ALL", all, totalErrors, elapsed);
+        writeHgrm(outputDir.resolve("all.hgrm"), all);
+        if (dropped > 0) {
+            System.out.printf("  %d arrivals dropped: more than load.maxInFlight requests outstanding%n", dropped);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("label", label);
+        summary.put("timestamp", Instant.now().toString());
+        summary.put("javaVersion", System.getProperty("java.version"));
+        summary.put("offeredRatePerSecond", rate);
+        summary.put("durationSeconds", seconds);
+        summary.put("warmupSeconds", warmupSeconds);
+        summary.put("mix", mix);
+        summary.put("dropped", dropped);
+        summary.put("overall", summary(all, totalOk, totalErrors, elapsed));
+        summary.put("operations", operations);
+        Path json = outputDir.resolve("summary.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), summary);
+        System.out.printf("  histograms and summary written to %s%n", outputDir.toAbsolutePath());
+    }
+
+    private static Map<String, Object> summary(Histogram h, long ok, long errors, double elapsed) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("requests", ok + errors);
+        m.put("errors", errors);
+        m.put("throughputPerSecond", h.getTotalCount() / elapsed);
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", millis(h.getValueAtPercentile(50)));
+        latency.put("p95", millis(h.getValueAtPercentile(95)));
+        latency.put("p99", millis(h.getValueAtPercentile(99)));
+        latency.put("p999", millis(h.getValueAtPercentile(99.9)));
+        latency.put("max", millis(h.getMaxValue()));
+        latency.put("mean", millis((long) h.getMean()));
+        m.put("latencyMillis", latency);
+        return m;
+    }
+
+    private static void print(String name, Histogram h, long errors, double elapsed) {
+        System.out.printf("  %-14s %9d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                h.getTotalCount(), errors, h.getTotalCount() / elapsed,
+                millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(95)),
+                millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()));
+    }
+
+    private static void writeHgrm(Path file, Histogram h) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            h.outputPercentileDistribution(out, 1000.0); // micros -> millis
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,204 @@
+package com.doctorwebsite.bench;
+
+import com.doctorwebsite.dto.AppointmentSummary;
+import com.doctorwebsite.entity.Appointment;
+import com.doctorwebsite.repository.AppointmentBatchWriter;
+import com.doctorwebsite.repository.AppointmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Heap and latency of the admin appointment listing read as entities vs as summary projections.
+ * <p>
+ * Boots the app on H2, inserts {@code projection.rows} appointments whose reason is
+ * {@code projection.reasonChars} long, then for each shape:
+ * <ul>
+ *   <li>walks the whole table in keyset pages of {@code projection.pageSize} (the admin "Load more" path)
+ *       and reports p50/p99 page latency and bytes allocated per page;</li>
+ *   <li>loads every row in one persistence context and reports the heap retained while it is open.</li>
+ * </ul>
+ * The entity shape runs the listing query as it was before the projection: {@code SELECT a} in a
+ * read-write transaction, so Hibernate hydrates managed entities and keeps their dirty-checking snapshots.
+ * The app runs in this JVM, so run with a fixed heap (e.g. MAVEN_OPTS=-Xmx1g) for comparable numbers.
+ * <p>
+ * mvn -Pbench compile exec:java -Dbench.main=com.doctorwebsite.bench.ProjectionFootprintCheck -Dprojection.rows=100000
+ */
+public final class ProjectionFootprintCheck {
+
+    private static final String ENTITY_PAGE = """
+            SELECT a FROM Appointment a
+            WHERE a.createdAt <= :cursorCreatedAt AND (a.createdAt < :cursorCreatedAt OR a.id < :cursorId)
+            ORDER BY a.createdAt DESC, a.id DESC
+            """;
+
+    private static final String SUMMARY_ALL = """
+            SELECT new com.doctorwebsite.dto.AppointmentSummary(
+                   a.id, a.doctorId, a.patientName, a.phone, a.patientEmail, a.appointmentDatetime, a.status,
+                   CASE WHEN a.reason IS NOT NULL THEN true ELSE false END, a.createdAt, a.version, a.changeSeq)
+            FROM Appointment a
+            """;
+
+    private static final LocalDateTime START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private ProjectionFootprintCheck() {
+    }
+
+    /** Keyset position of the last row of a page */
+    private record Cursor(LocalDateTime createdAt, long id) {
+    }
+
+    private record Walk(String shape, int pages, double totalMs, double p50Ms, double p99Ms, long bytesPerPage) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = Integer.getInteger("projection.rows", 100_000);
+        int reasonChars = Integer.getInteger("projection.reasonChars", 500);
+        int pageSize = Integer.getInteger("projection.pageSize", 200);
+
+        try (ConfigurableApplicationContext context = BenchApp.start()) {
+            seed(context, rows, reasonChars);
+            AppointmentRepository repository = context.getBean(AppointmentRepository.class);
+            EntityManagerFactory emf = context.getBean(EntityManagerFactory.class);
+            TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            // Warm up both paths so the first measured walk does not pay for JIT and query plan caching
+            for (int i = 0; i < 2; i++) {
+                walkEntities(tx, emf, pageSize);
+                walkSummaries(repository, pageSize);
+            }
+            Walk entities = walkEntities(tx, emf, pageSize);
+            Walk summaries = walkSummaries(repository, pageSize);
+
+            long entityHeap = retained(emf, em -> em.createQuery("SELECT a FROM Appointment a", Appointment.class)
+                    .getResultList());
+            long summaryHeap = retained(emf, em -> em.createQuery(SUMMARY_ALL, AppointmentSummary.class)
+                    .getResultList());
+
+            System.out.printf("%nAdmin appointment listing, %d rows, %d-char reasons, pages of %d%n",
+                    rows, reasonChars, pageSize);
+            System.out.printf("  %-9s %6s %10s %9s %9s %14s %18s%n",
+                    "shape", "pages", "total ms", "p50 ms", "p99 ms", "alloc/page KB", "retained heap MB");
+            print(entities, entityHeap);
+            print(summaries, summaryHeap);
+            System.out.printf("  summaries: %.1fx less allocation per page, %.1fx less retained heap, p50 %.1fx faster%n",
+                    (double) entities.bytesPerPage() / summaries.bytesPerPage(),
+                    (double) entityHeap / summaryHeap,
+                    entities.p50Ms() / summaries.p50Ms());
+        }
+        System.exit(0);
+    }
+
+    private static void print(Walk walk, long retainedBytes) {
+        System.out.printf("  %-9s %6d %10.1f %9.3f %9.3f %14.1f %18.1f%n", walk.shape(), walk.pages(), walk.totalMs(),
+                walk.p50Ms(), walk.p99Ms(), walk.bytesPerPage() / 1024.0, retainedBytes / 1e6);
+    }
+
+    private static Walk walkEntities(TransactionTemplate tx, EntityManagerFactory emf, int pageSize) {
+        return walk("entities", cursor -> {
+            List<Appointment> page = tx.execute(status -> EntityManagerFactoryUtils.getTransactionalEntityManager(emf)
+                    .createQuery(ENTITY_PAGE, Appointment.class)
+                    .setParameter("cursorCreatedAt", cursor.createdAt())
+                    .setParameter("cursorId", cursor.id())
+                    .setMaxResults(pageSize + 1)
+                    .getResultList());
+            if (page.size() <= pageSize) {
+                return null;
+            }
+            Appointment last = page.get(pageSize - 1);
+            return new Cursor(last.getCreatedAt(), last.getId());
+        });
+    }
+
+    private static Walk walkSummaries(AppointmentRepository repository, int pageSize) {
+        return walk("summaries", cursor -> {
+            List<AppointmentSummary> page = repository.findPage(null, null, null, null,
+                    cursor.createdAt(), cursor.id(), PageRequest.of(0, pageSize + 1));
+            if (page.size() <= pageSize) {
+                return null;
+            }
+            AppointmentSummary last = page.get(pageSize - 1);
+            return new Cursor(last.createdAt(), last.id());
+        });
+    }
+
+    /** Follow the keyset cursor until the last page, timing each page and counting this thread's allocation */
+    private static Walk walk(String shape, Function<Cursor, Cursor> fetchPage) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<Long> nanos = new ArrayList<>();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        Cursor cursor = new Cursor(START, Long.MAX_VALUE);
+        while (cursor != null) {
+            long pageStart = System.nanoTime();
+            cursor = fetchPage.apply(cursor);
+            nanos.add(System.nanoTime() - pageStart);
+        }
+        double totalMs = (System.nanoTime() - start) / 1e6;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        long[] sorted = nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Walk(shape, sorted.length, totalMs,
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6, allocated / sorted.length);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    /** Used heap after GC while the loaded rows and their persistence context are alive, minus the baseline */
+    private static long retained(EntityManagerFactory emf, Function<EntityManager, List<?>> load) {
+        long baseline = usedAfterGc();
+        EntityManager em = emf.createEntityManager();
+        try {
+            List<?> loaded = load.apply(em);
+            long used = usedAfterGc();
+            if (loaded.isEmpty()) {
+                throw new IllegalStateException("Nothing loaded");
+            }
+            return used - baseline;
+        } finally {
+            em.close();
+        }
+    }
+
+    private static long usedAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void seed(ConfigurableApplicationContext context, int rows, int reasonChars) {
+        AppointmentBatchWriter writer = context.getBean(AppointmentBatchWriter.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        LocalDateTime start = LocalDateTime.now().plusYears(1).withSecond(0).withNano(0);
+        char[] filler = new char[reasonChars];
+        Arrays.fill(filler, 'x');
+        String reason = new String(filler);
+        for (int chunk = 0; chunk < rows; chunk += 1000) {
+            List<Appointment> batch = new ArrayList<>();
+            for (int i = chunk; i < Math.min(rows, chunk + 1000); i++) {
+                Appointment a = new Appointment();
+                a.setPatientName("Listing Patient " + i);
+                a.setPhone("0175" + String.format("%07d", i));
+                a.setPatientEmail("patient" + i + "@example.com");
+                a.setAppointmentDatetime(start.plusMinutes(30L * i));
+                a.setReason(i + " " + reason);
+                batch.add(a);
+            }
+            tx.executeWithoutResult(status -> writer.insertAll(batch));
+        }
+    }
+}
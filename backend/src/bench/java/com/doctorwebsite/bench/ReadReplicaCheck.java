@@ -0,0 +1,132 @@
+package com.doctorwebsite.bench;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+/**
+ * Read/write split with two H2 databases standing in for the primary and the read replica.
+ * <p>
+ * Boots the app on H2 with {@code app.datasource.replica.url} pointing at a second in-memory database.
+ * H2 has no replication, so this runner copies the primary to the replica itself ({@code SCRIPT} /
+ * {@code RUNSCRIPT}); between copies the replica lags as far behind as the run wants. It then checks that:
+ * <ul>
+ *   <li>the admin appointment list is read from the replica (a row that only exists there is listed);</li>
+ *   <li>right after a booking the list is read from the primary (the booking is listed, the replica-only row is not);</li>
+ *   <li>once the lag fence ({@code replica.fenceMs}) has passed, reads go back to the replica;</li>
+ *   <li>the change feed always reads the primary, so a lagging replica cannot make it skip the booking.</li>
+ * </ul>
+ * mvn -Pbench compile exec:java -Dbench.main=com.doctorwebsite.bench.ReadReplicaCheck
+ */
+public final class ReadReplicaCheck {
+
+    private static final String H2_OPTIONS = ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DATABASE_TO_UPPER=FALSE";
+
+    private ReadReplicaCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        long fenceMs = Long.getLong("replica.fenceMs", 1000);
+        String admin = "adminPassword=" + System.getProperty("load.adminPassword", "admin123");
+        String replicaUrl = "jdbc:h2:mem:replica-check" + H2_OPTIONS;
+
+        try (ConfigurableApplicationContext context = BenchApp.start(
+                "app.datasource.replica.url=" + replicaUrl,
+                "app.datasource.replica.username=sa",
+                "app.datasource.replica.password=",
+                "app.datasource.replica.lag-fence-ms=" + fenceMs)) {
+            String base = BenchApp.baseUrl(context);
+            String primaryUrl = context.getEnvironment().getProperty("spring.datasource.url");
+            HttpClient http = HttpClient.newHttpClient();
+            MeterRegistry meters = context.getBean(MeterRegistry.class);
+
+            // The seed data went to the primary at startup; wait out its fence, then bring the replica up to date
+            Thread.sleep(fenceMs);
+            replicate(primaryUrl, replicaUrl);
+            try (Connection replica = DriverManager.getConnection(replicaUrl, "sa", "");
+                 Statement statement = replica.createStatement()) {
+                statement.executeUpdate("""
+                        INSERT INTO appointments (patient_name, phone, appointment_datetime, status, created_at,
+                                                  updated_at, version, change_seq)
+                        VALUES ('Replica Only', '01700000000', '%s', 'PENDING', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0, 0)
+                        """.formatted(LocalDateTime.now().plusYears(2).withNano(0)));
+            }
+
+            String list = base + "/api/appointments?" + admin;
+            expect(get(http, list), "Replica Only", null, "before any write, the list is read from the replica");
+
+            LocalDateTime start = BenchApp.clinicStarts(1, 30, 30).get(0);
+            HttpResponse<String> booked = http.send(HttpRequest.newBuilder(URI.create(base + "/api/appointments"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("""
+                            {"patientName":"Fenced Patient","phone":"01711111111","appointmentDatetime":"%s"}
+                            """.formatted(start))).build(), HttpResponse.BodyHandlers.ofString());
+            if (booked.statusCode() != 201) {
+                throw new IllegalStateException("Booking failed: HTTP " + booked.statusCode() + " " + booked.body());
+            }
+            expect(get(http, list), "Fenced Patient", "Replica Only", "right after the booking, the list is read from the primary");
+
+            Thread.sleep(fenceMs + 200);
+            expect(get(http, list), "Replica Only", "Fenced Patient",
+                    "after the fence, the list is read from the (not yet caught up) replica");
+            expect(get(http, base + "/api/appointments/changes?since=0&" + admin), "Fenced Patient", null,
+                    "the change feed reads the primary while the replica lags");
+
+            replicate(primaryUrl, replicaUrl);
+            expect(get(http, list), "Fenced Patient", null, "once replicated, the replica lists the booking");
+
+            System.out.printf("%nConnections taken: primary %d, replica %d%n",
+                    checkouts(meters, "primary"), checkouts(meters, "replica"));
+            System.out.println("Read/write split checks passed");
+        }
+        System.exit(0);
+    }
+
+    /** Copy the whole primary database over the replica */
+    private static void replicate(String primaryUrl, String replicaUrl) throws Exception {
+        Path dump = Files.createTempFile("primary", ".sql");
+        try (Connection primary = DriverManager.getConnection(primaryUrl, "sa", "");
+             Statement statement = primary.createStatement()) {
+            statement.execute("SCRIPT TO '" + dump + "'");
+        }
+        try (Connection replica = DriverManager.getConnection(replicaUrl, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("RUNSCRIPT FROM '" + dump + "'");
+        }
+        Files.delete(dump);
+    }
+
+    private static String get(HttpClient http, String url) throws Exception {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + ": HTTP " + response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+
+    private static void expect(String body, String present, String absent, String check) {
+        boolean ok = body.contains(present) && (absent == null || !body.contains(absent));
+        System.out.printf("  %-4s %s%n", ok ? "ok" : "FAIL", check);
+        if (!ok) {
+            throw new IllegalStateException("Check failed: " + check + "\n" + body);
+        }
+    }
+
+    private static long checkouts(MeterRegistry meters, String pool) {
+        Timer usage = meters.find("hikaricp.connections.usage").tag("pool", pool).timer();
+        return usage == null ? 0 : usage.count();
+    }
+}
@@ -0,0 +1,162 @@
+package com.doctorwebsite.bench;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start: time from launching the JVM to the first successful GET /api/services.
+ * <p>
+ * Launches the packaged app as a child process {@code startup.runs} times per variant, taking turns
+ * between variants, and reports min / median / max:
+ * <ul>
+ *   <li>{@code java -jar} — the executable jar, as the Dockerfile ran it before;</li>
+ *   <li>{@code cds + lazy} — the fast-start jar with the class-data-sharing archive and lazy initialization;</li>
+ *   <li>{@code aot + cds + lazy} — the same on Spring AOT, as the Docker image runs it. AOT fixes Flyway on,
+ *       so this variant needs a MySQL database ({@code -Dstartup.dbUrl}, {@code startup.dbUser},
+ *       {@code startup.dbPass}) and is skipped on H2.</li>
+ * </ul>
+ * Without {@code startup.dbUrl} every variant runs on the H2 profile. Child output goes to target/startup-bench.
+ * Build both jars and the archive first, with the JDK that runs this benchmark:
+ * <p>
+ * mvn -Pfast-start -DskipTests package
+ * mvn -Pbench compile exec:java -Dbench.main=com.doctorwebsite.bench.StartupBenchmark -Dstartup.runs=5
+ */
+public final class StartupBenchmark {
+
+    private static final Path TARGET = Paths.get("target");
+    private static final Path EXEC_JAR = TARGET.resolve("doctor-website-0.0.1-SNAPSHOT-exec.jar");
+    private static final Path FAST_JAR = TARGET.resolve("doctor-website-0.0.1-SNAPSHOT.jar");
+    private static final Path ARCHIVE = TARGET.resolve("app.jsa");
+    private static final Path LOGS = TARGET.resolve("startup-bench");
+
+    private StartupBenchmark() {
+    }
+
+    private record Variant(String name, Path jar, List<String> jvmArgs) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("startup.runs", 5);
+        int timeoutSeconds = Integer.getInteger("startup.timeoutSeconds", 120);
+        String dbUrl = System.getProperty("startup.dbUrl");
+        for (Path required : List.of(EXEC_JAR, FAST_JAR, ARCHIVE)) {
+            if (!Files.exists(required)) {
+                throw new IllegalStateException(required + " not found; run mvn -Pfast-start -DskipTests package first");
+            }
+        }
+        Files.createDirectories(LOGS);
+
+        List<String> database = new ArrayList<>();
+        if (dbUrl == null) {
+            database.add("-Dspring.profiles.active=h2");
+            database.add("-Dspring.jpa.show-sql=false");
+        } else {
+            database.add("-Dspring.datasource.url=" + dbUrl);
+            database.add("-Dspring.datasource.username=" + System.getProperty("startup.dbUser", "root"));
+            database.add("-Dspring.datasource.password=" + System.getProperty("startup.dbPass", "root"));
+        }
+
+        List<Variant> variants = new ArrayList<>();
+        variants.add(new Variant("java -jar", EXEC_JAR, database));
+        List<String> fast = new ArrayList<>(database);
+        fast.add("-XX:SharedArchiveFile=" + ARCHIVE);
+        fast.add("-Dspring.main.lazy-initialization=true");
+        variants.add(new Variant("cds + lazy", FAST_JAR, fast));
+        if (dbUrl != null) {
+            List<String> aot = new ArrayList<>(fast);
+            aot.add("-Dspring.aot.enabled=true");
+            variants.add(new Variant("aot + cds + lazy", FAST_JAR, aot));
+        }
+
+        Map<Variant, List<Long>> millis = new LinkedHashMap<>();
+        variants.forEach(v -> millis.put(v, new ArrayList<>()));
+        for (int run = 1; run <= runs; run++) {
+            for (Variant variant : variants) {
+                long ms = timeToFirstRequest(variant, run, timeoutSeconds);
+                millis.get(variant).add(ms);
+                System.out.printf("  run %d %-18s %6d ms%n", run, variant.name(), ms);
+            }
+        }
+
+        System.out.printf("%nTime to first successful GET /api/services, %d runs on %s%n",
+                runs, dbUrl == null ? "H2 (aot variant skipped, needs -Dstartup.dbUrl)" : dbUrl);
+        System.out.printf("  %-18s %8s %8s %8s %10s%n", "variant", "min ms", "p50 ms", "max ms", "vs java -jar");
+        double baseline = median(millis.get(variants.get(0)));
+        for (Variant variant : variants) {
+            List<Long> sorted = millis.get(variant).stream().sorted().toList();
+            System.out.printf("  %-18s %8d %8.0f %8d %9.2fx%n", variant.name(), sorted.get(0), median(sorted),
+                    sorted.get(sorted.size() - 1), baseline / median(sorted));
+        }
+        if (dbUrl == null) {
+            System.out.println("  (the Docker image also enables AOT; pass -Dstartup.dbUrl=jdbc:mysql://... to measure it)");
+        }
+    }
+
+    /** Launch one child JVM and poll until /api/services answers 200; the child is stopped afterwards */
+    private static long timeToFirstRequest(Variant variant, int run, int timeoutSeconds) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(variant.jvmArgs());
+        command.add("-Dserver.port=" + port);
+        command.add("-Dmanagement.server.port=" + freePort());
+        command.add("-Dapp.contact.journal.dir=" + Files.createTempDirectory("startup-journal"));
+        command.add("-jar");
+        command.add(variant.jar().toString());
+        Path log = LOGS.resolve(variant.name().replaceAll("[^a-z]+", "-") + "-" + run + ".log");
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/services"))
+                .timeout(Duration.ofSeconds(timeoutSeconds)).GET().build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = start + Duration.ofSeconds(timeoutSeconds).toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant.name() + " exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(variant.name() + " did not answer within " + timeoutSeconds + " s, see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static double median(List<Long> values) {
+        List<Long> sorted = values.stream().sorted().toList();
+        int n = sorted.size();
+        return n % 2 == 1 ? sorted.get(n / 2) : (sorted.get(n / 2 - 1) + sorted.get(n / 2)) / 2.0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
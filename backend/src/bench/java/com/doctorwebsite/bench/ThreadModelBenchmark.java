@@ -0,0 +1,161 @@
+package com.doctorwebsite.bench;
+
+import com.doctorwebsite.entity.Appointment;
+import com.doctorwebsite.repository.AppointmentBatchWriter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Request throughput and latency on platform threads vs virtual threads.
+ * <p>
+ * Boots the app on H2 once per thread model ({@code spring.threads.virtual.enabled} false, then true)
+ * and seeds {@code tm.appointments} appointments. For each client count in {@code tm.clients},
+ * that many closed-loop clients repeatedly GET /api/appointments/{id} for a random id (one JDBC
+ * read per request) for {@code tm.seconds}. Latencies from the first {@code tm.warmupSeconds}
+ * are discarded. Clients run on virtual threads so the load generator is not what saturates.
+ * Tomcat's connection limit is raised above the largest client count, so connections are not what
+ * queues requests either.
+ * <p>
+ * mvn -Pbench compile exec:java -Dbench.main=com.doctorwebsite.bench.ThreadModelBenchmark
+ * -Dtm.clients=100,1000,5000 -Dtm.seconds=20
+ */
+public final class ThreadModelBenchmark {
+
+    private ThreadModelBenchmark() {
+    }
+
+    private record Result(String mode, int clients, long requests, long errors, double seconds,
+                          long p50Micros, long p99Micros) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] clients = Arrays.stream(System.getProperty("tm.clients", "100,1000,5000").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        int seconds = Integer.getInteger("tm.seconds", 20);
+        int warmupSeconds = Integer.getInteger("tm.warmupSeconds", 5);
+        int appointments = Integer.getInteger("tm.appointments", 10_000);
+        int maxConnections = Math.max(8192, Arrays.stream(clients).max().orElse(0) + 200);
+
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context =
+                         BenchApp.start("spring.threads.virtual.enabled=" + virtual,
+                                 "server.tomcat.max-connections=" + maxConnections)) {
+                seed(context, appointments);
+                String base = BenchApp.baseUrl(context) + "/api/appointments/";
+                for (int n : clients) {
+                    results.add(run(virtual ? "virtual" : "platform", n, base, appointments, warmupSeconds, seconds));
+                }
+            }
+        }
+
+        System.out.printf("%nGET /api/appointments/{id}, %d s per run after %d s warm-up%n", seconds, warmupSeconds);
+        System.out.printf("  %-9s %8s %12s %10s %10s %10s %8s%n",
+                "threads", "clients", "requests", "req/s", "p50 ms", "p99 ms", "errors");
+        for (Result r : results) {
+            System.out.printf("  %-9s %8d %12d %10.0f %10.2f %10.2f %8d%n", r.mode(), r.clients(), r.requests(),
+                    r.requests() / r.seconds(), r.p50Micros() / 1000.0, r.p99Micros() / 1000.0, r.errors());
+        }
+        System.exit(0);
+    }
+
+    private static void seed(ConfigurableApplicationContext context, int count) {
+        AppointmentBatchWriter writer = context.getBean(AppointmentBatchWriter.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        LocalDateTime start = LocalDateTime.now().plusYears(1).withSecond(0).withNano(0);
+        for (int from = 0; from < count; from += 1000) {
+            List<Appointment> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(count, from + 1000); i++) {
+                Appointment a = new Appointment();
+                a.setPatientName("Bench Patient " + i);
+                a.setPhone("0172" + String.format("%07d", i));
+                a.setAppointmentDatetime(start.plusMinutes(30L * i));
+                a.setReason("benchmark");
+                batch.add(a);
+            }
+            tx.executeWithoutResult(status -> writer.insertAll(batch));
+        }
+    }
+
+    private static Result run(String mode, int clients, String base, int appointments,
+                              int warmupSeconds, int seconds) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicInteger errors = new AtomicInteger();
+        long[][] perClient = new long[clients][];
+        int[] counts = new int[clients];
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                pool.execute(() -> {
+                    long[] samples = new long[1 << 12];
+                    int n = 0;
+                    while (true) {
+                        long t0 = System.nanoTime();
+                        if (t0 >= end) {
+                            break;
+                        }
+                        long id = 1 + ThreadLocalRandom.current().nextInt(appointments);
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(base + id + "?adminPassword=admin123"))
+                                .timeout(Duration.ofSeconds(60)).GET().build();
+                        boolean ok;
+                        try {
+                            ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long t1 = System.nanoTime();
+                        if (t0 < warmupEnd) {
+                            continue;
+                        }
+                        if (!ok) {
+                            errors.incrementAndGet();
+                        }
+                        if (n == samples.length) {
+                            samples = Arrays.copyOf(samples, n * 2);
+                        }
+                        samples[n++] = (t1 - t0) / 1000;
+                    }
+                    perClient[client] = samples;
+                    counts[client] = n;
+                });
+            }
+        }
+        http.close();
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int pos = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(perClient[c], 0, all, pos, counts[c]);
+            pos += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(mode, clients, total, errors.get(), seconds, percentile(all, 0.50), percentile(all, 0.99));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
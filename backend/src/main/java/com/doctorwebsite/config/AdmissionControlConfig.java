@@ -0,0 +1,25 @@
+package com.doctorwebsite.config;
+
+import com.doctorwebsite.service.AdmissionControlService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts rate limiting and load shedding in front of the public write endpoints.
+ */
+@Configuration
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlService admissionControl;
+
+    public AdmissionControlConfig(AdmissionControlService admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionControlInterceptor(admissionControl))
+                .addPathPatterns("/api/appointments", "/api/contact");
+    }
+}
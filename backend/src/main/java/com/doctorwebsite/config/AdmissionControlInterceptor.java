@@ -0,0 +1,28 @@
+package com.doctorwebsite.config;
+
+import com.doctorwebsite.service.AdmissionControlService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Runs admission control before the public POST endpoints read their request body.
+ * Rejections are thrown and rendered by GlobalExceptionHandler.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private final AdmissionControlService admissionControl;
+
+    public AdmissionControlInterceptor(AdmissionControlService admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if ("POST".equals(request.getMethod())) {
+            // Real client address when behind a proxy (server.forward-headers-strategy)
+            admissionControl.admitClient(request.getRemoteAddr());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,54 @@
+package com.doctorwebsite.config;
+
+import lombok.RequiredArgsConstructor;
+import org.flywaydb.core.Flyway;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatVirtualThreadsWebServerFactoryCustomizer;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Refuses to start an AOT-processed build (-Dspring.aot.enabled=true, the fast-start image) whose
+ * settings differ from the ones it was built with. AOT evaluates @ConditionalOnThreading and
+ * @ConditionalOnProperty at build time, so without this VIRTUAL_THREADS=true, or the h2 profile
+ * (Flyway off), would be silently ignored. Rebuild with matching settings or use BUILD_MODE=plain.
+ */
+@Component
+@RequiredArgsConstructor
+public class AotBuildCheck implements SmartInitializingSingleton {
+
+    private final ListableBeanFactory beanFactory;
+    private final Environment environment;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        List<String> mismatches = new ArrayList<>();
+        check(mismatches, "spring.threads.virtual.enabled (VIRTUAL_THREADS)",
+                has(TomcatVirtualThreadsWebServerFactoryCustomizer.class), Threading.VIRTUAL.isActive(environment));
+        check(mismatches, "spring.flyway.enabled",
+                has(Flyway.class), environment.getProperty("spring.flyway.enabled", Boolean.class, true));
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("Settings differ from the AOT build: " + String.join("; ", mismatches)
+                    + ". Rebuild with matching settings (fast-start profile in pom.xml) or use BUILD_MODE=plain.");
+        }
+    }
+
+    private boolean has(Class<?> type) {
+        return beanFactory.getBeanNamesForType(type, true, false).length > 0;
+    }
+
+    private static void check(List<String> mismatches, String setting, boolean built, boolean now) {
+        if (built != now) {
+            mismatches.add(setting + " is " + now + " but the build used " + built);
+        }
+    }
+}
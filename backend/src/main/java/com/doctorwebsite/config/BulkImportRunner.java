@@ -0,0 +1,76 @@
+package com.doctorwebsite.config;
+
+import com.doctorwebsite.dto.ImportReportDTO;
+import com.doctorwebsite.service.BulkImportService;
+import com.doctorwebsite.service.DataFormat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line bulk import: when app.import.services-file and/or app.import.appointments-file are set,
+ * loads them after the data seeder has run, logs the reports and closes the application.
+ * <pre>
+ * java -jar app.jar --spring.main.web-application-type=none \
+ *      --app.import.services-file=services.csv --app.import.appointments-file=appointments.ndjson
+ * </pre>
+ * The format follows the file extension (.ndjson / .jsonl, otherwise CSV). A file that cannot be read
+ * fails startup, so the process exits non-zero.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class BulkImportRunner implements ApplicationRunner {
+
+    private final BulkImportService importService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${app.import.services-file:}")
+    private String servicesFile;
+
+    @Value("${app.import.appointments-file:}")
+    private String appointmentsFile;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (servicesFile.isBlank() && appointmentsFile.isBlank()) {
+            return;
+        }
+        if (!servicesFile.isBlank()) {
+            try (Reader reader = Files.newBufferedReader(Path.of(servicesFile), StandardCharsets.UTF_8)) {
+                log(servicesFile, importService.importServices(reader, DataFormat.fromFilename(servicesFile)));
+            }
+        }
+        if (!appointmentsFile.isBlank()) {
+            try (Reader reader = Files.newBufferedReader(Path.of(appointmentsFile), StandardCharsets.UTF_8)) {
+                log(appointmentsFile, importService.importAppointments(reader,
+                        DataFormat.fromFilename(appointmentsFile)));
+            }
+        }
+        SpringApplication.exit(context);
+    }
+
+    private static void log(String file, ImportReportDTO report) {
+        log.info("{}: {} records, {} imported, {} rejected in {} s ({} rows/s)", file, report.getRecords(),
+                report.getImported(), report.getFailed(), String.format("%.2f", report.getSeconds()),
+                report.getRowsPerSecond());
+        report.getErrors().forEach(e -> log.warn("{}:{}: {}", file, e.getLine(), e.getMessage()));
+        if (report.isErrorsTruncated()) {
+            log.warn("{}: only the first {} of {} rejected records are listed", file,
+                    report.getErrors().size(), report.getFailed());
+        }
+    }
+}
@@ -1,26 +1,44 @@
 package com.doctorwebsite.config;
 
+import com.doctorwebsite.entity.DataSeed;
 import com.doctorwebsite.entity.Doctor;
 import com.doctorwebsite.entity.MedicalService;
+import com.doctorwebsite.repository.DataSeedRepository;
 import com.doctorwebsite.repository.DoctorRepository;
 import com.doctorwebsite.repository.ServiceRepository;
+import com.doctorwebsite.service.DoctorService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * DataSeeder — seeds the database with initial doctor and service data
  * when the application first starts (only if tables are empty).
+ * Writes go through DoctorService so the catalog cache sees them.
+ * Once done this is recorded in data_seeds, and later starts skip the table counts.
  */
 @Configuration
 public class DataSeeder {
 
+    /** data_seeds row written once the doctor and service catalog is in place */
+    private static final String CATALOG_SEED = "catalog";
+
+    /** Runs before other startup runners (e.g. BulkImportRunner) so the clinic's doctor exists */
     @Bean
-    CommandLineRunner seedDatabase(DoctorRepository doctorRepo, ServiceRepository serviceRepo) {
+    @Order(0)
+    CommandLineRunner seedDatabase(DoctorRepository doctorRepo, ServiceRepository serviceRepo,
+                                   DataSeedRepository seedRepo, DoctorService doctorService) {
         return args -> {
 
+            // One primary-key lookup instead of two counts on every start after the first
+            if (seedRepo.existsById(CATALOG_SEED)) {
+                return;
+            }
+
             // Seed doctor only if none exist
             if (doctorRepo.count() == 0) {
                 Doctor doctor = new Doctor();
@@ -33,7 +51,7 @@ public class DataSeeder {
                 doctor.setBio("Dr. Sarah Johnson is a board-certified cardiologist and general physician with over 15 years of clinical experience. She is dedicated to providing compassionate, evidence-based care tailored to each patient's needs. She completed her MD from Dhaka Medical College and fellowship training in Cardiology from NICVD.");
                 doctor.setClinicName("HealthCare Clinic");
                 doctor.setConsultationFee(800.0);
-                doctorRepo.save(doctor);
+                doctorService.saveDoctor(doctor);
             }
 
             // Seed services only if none exist
@@ -48,8 +66,10 @@ public class DataSeeder {
                     createService("Neurology", "Evaluation and management of neurological conditions including migraines, seizures, and nerve disorders.", "fa-brain", 7),
                     createService("Dermatology", "Skin care services including treatment of acne, eczema, psoriasis, and cosmetic skin procedures.", "fa-user-md", 8)
                 );
-                serviceRepo.saveAll(services);
+                doctorService.saveServices(services);
             }
+
+            seedRepo.save(new DataSeed(CATALOG_SEED, LocalDateTime.now()));
         };
     }
 
@@ -0,0 +1,70 @@
+package com.doctorwebsite.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Connection pools: the primary, configured by spring.datasource.* as before, and, when
+ * app.datasource.replica.url is set, a read replica with its own Hikari pool.
+ * JPA, JdbcTemplate and Flyway all use the routing data source, which only sends reads started
+ * through ReadReplicaRouter to the replica.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /** Writes, and every read not routed to the replica; load shedding watches this pool */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("primary");
+        return pool;
+    }
+
+    /**
+     * Primary and replica behind one data source. The replica pool is read-only, reports the same
+     * hikaricp.* metrics as the primary (tag pool=replica) and is closed with this bean.
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource, MeterRegistry meterRegistry,
+            @Value("${app.datasource.replica.url:}") String url,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password,
+            @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource replica = null;
+        if (StringUtils.hasText(url)) {
+            replica = new HikariDataSource();
+            replica.setPoolName("replica");
+            replica.setJdbcUrl(url);
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replica);
+    }
+
+    /**
+     * The application's data source. Hands out a connection handle right away but takes a pooled
+     * connection only at the first statement, once the transaction is known to be read-only or not;
+     * a transaction answered from memory (catalog cache hit) takes none.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,86 @@
+package com.doctorwebsite.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every controller method as {@code doctorwebsite.http.handler}
+ * (tags: controller, method, outcome).
+ * <p>
+ * Timers are looked up once per (handler method, outcome) and cached, so a request costs a map hit
+ * and a record — no tag arrays or meter ids are built per request.
+ */
+public class HandlerMetricsInterceptor implements HandlerInterceptor {
+
+    public static final String METRIC = "doctorwebsite.http.handler";
+
+    private static final String START_ATTRIBUTE = HandlerMetricsInterceptor.class.getName() + ".start";
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<Method, HandlerTimers> timers = new ConcurrentHashMap<>();
+
+    public HandlerMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // An async dispatch keeps the start time of the original request, so streamed responses are timed in full
+        if (handler instanceof HandlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+        timers.computeIfAbsent(handlerMethod.getMethod(), m -> new HandlerTimers(handlerMethod))
+                .forOutcome(Outcome.forStatus(status))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /** One timer per outcome, registered the first time that outcome occurs */
+    private final class HandlerTimers {
+
+        private final String controller;
+        private final String method;
+        private final Timer[] byOutcome = new Timer[OUTCOMES.length];
+
+        HandlerTimers(HandlerMethod handlerMethod) {
+            this.controller = handlerMethod.getBeanType().getSimpleName();
+            this.method = handlerMethod.getMethod().getName();
+        }
+
+        Timer forOutcome(Outcome outcome) {
+            Timer timer = byOutcome[outcome.ordinal()];
+            if (timer == null) {
+                // Racing threads get the same Timer back from the registry
+                timer = Timer.builder(METRIC)
+                        .description("Controller method execution time")
+                        .tag("controller", controller)
+                        .tag("method", method)
+                        .tag("outcome", outcome.name())
+                        .register(registry);
+                byOutcome[outcome.ordinal()] = timer;
+            }
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.doctorwebsite.config;
+
+import com.doctorwebsite.service.ContactJournal;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans that are still created at startup when spring.main.lazy-initialization (LAZY_INIT) is on.
+ * Everything else waits for its first use; beans with @Scheduled methods are kept eager by Spring Boot.
+ */
+@Configuration
+public class LazyInitConfig {
+
+    /**
+     * The contact journal recovers messages accepted before a restart; that must not wait
+     * for the next contact form submission. AotBuildCheck has to run before the first request.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ContactJournal.class, AotBuildCheck.class);
+    }
+}
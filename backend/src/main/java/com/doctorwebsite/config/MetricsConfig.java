@@ -0,0 +1,26 @@
+package com.doctorwebsite.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the per-controller-method timers.
+ * Hikari pool, Hibernate statistics and Spring Data repository timers are bound by Spring Boot
+ * (see the management.* settings in application.properties).
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricsConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerMetricsInterceptor(meterRegistry)).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,68 @@
+package com.doctorwebsite.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Routes each new connection to the primary or the read replica pool.
+ * A connection goes to the replica only when it is taken inside {@link #onReplica} and the current
+ * transaction is read-only (see ReadReplicaRouter); everything else, including every write, uses the primary.
+ * Wrapped in a LazyConnectionDataSourceProxy (DataSourceConfig), so the choice is made at the first statement,
+ * after the transaction has been set up.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public enum Role {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    /** Owned by this data source; null when no replica is configured */
+    private final HikariDataSource replica;
+
+    public ReplicaRoutingDataSource(DataSource primary, HikariDataSource replica) {
+        this.replica = replica;
+        setTargetDataSources(Map.of(Role.PRIMARY, primary, Role.REPLICA, replica != null ? replica : primary));
+        setDefaultTargetDataSource(primary);
+    }
+
+    public boolean hasReplica() {
+        return replica != null;
+    }
+
+    /** Run {@code work} with connections it takes in read-only transactions coming from the replica */
+    public static <T> T onReplica(Supplier<T> work) {
+        Boolean previous = REPLICA_READ.get();
+        REPLICA_READ.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                REPLICA_READ.remove();
+            } else {
+                REPLICA_READ.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return REPLICA_READ.get() != null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? Role.REPLICA
+                : Role.PRIMARY;
+    }
+
+    @Override
+    public void destroy() {
+        if (replica != null) {
+            replica.close();
+        }
+    }
+}
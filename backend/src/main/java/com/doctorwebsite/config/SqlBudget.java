@@ -0,0 +1,21 @@
+package com.doctorwebsite.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements one call of a controller method may run, on any thread
+ * (Hibernate and JdbcTemplate alike, including work handed to the import writer or the export's
+ * response thread). Counts are for a cold request (catalog cache miss, slot engine not yet warm).
+ * SqlBudgetTest pins the exact count of every endpoint and fails on a handler without a budget.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    int value();
+}
@@ -0,0 +1,24 @@
+package com.doctorwebsite.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Simple in-request admin password check, shared by the admin endpoints.
+ * The password is app.admin.password (ADMIN_PASSWORD). For production, replace with JWT-based authentication.
+ */
+@Component
+class AdminPasswordCheck {
+
+    private final String adminPassword;
+
+    AdminPasswordCheck(@Value("${app.admin.password}") String adminPassword) {
+        this.adminPassword = adminPassword;
+    }
+
+    void validate(String password) {
+        if (!adminPassword.equals(password)) {
+            throw new IllegalArgumentException("Unauthorized: invalid admin password.");
+        }
+    }
+}
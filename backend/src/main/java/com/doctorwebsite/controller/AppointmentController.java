@@ -1,16 +1,39 @@
 package com.doctorwebsite.controller;
 
+import com.doctorwebsite.config.AsyncTimeoutConfig;
+import com.doctorwebsite.config.SqlBudget;
 import com.doctorwebsite.dto.ApiResponse;
+import com.doctorwebsite.dto.AppointmentCalendarDTO;
+import com.doctorwebsite.dto.AppointmentChangesDTO;
 import com.doctorwebsite.dto.AppointmentDTO;
+import com.doctorwebsite.dto.AppointmentFilter;
+import com.doctorwebsite.dto.AppointmentStatsDTO;
+import com.doctorwebsite.dto.AppointmentSummary;
+import com.doctorwebsite.dto.CursorPage;
+import com.doctorwebsite.dto.PatientSearchPage;
 import com.doctorwebsite.entity.Appointment;
+import com.doctorwebsite.service.AdmissionControlService;
+import com.doctorwebsite.service.AppointmentCalendarService;
+import com.doctorwebsite.service.AppointmentEventBroadcaster;
+import com.doctorwebsite.service.AppointmentExportService;
 import com.doctorwebsite.service.AppointmentService;
+import com.doctorwebsite.service.DataFormat;
+import com.doctorwebsite.service.PatientSearchService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDate;
 import java.util.Map;
 
 /**
@@ -24,17 +47,25 @@ import java.util.Map;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final AdmissionControlService admissionControl;
+    private final PatientSearchService patientSearchService;
+    private final AppointmentCalendarService calendarService;
+    private final AppointmentExportService exportService;
+    private final AppointmentEventBroadcaster eventBroadcaster;
+    private final AdminPasswordCheck adminPasswordCheck;
 
     // ==================== PUBLIC ====================
 
     /**
      * Book a new appointment.
-     * POST /api/appointments
+     * POST /api/appointments — rate limited per client address and per phone number.
      */
     @PostMapping
+    @SqlBudget(2)
     public ResponseEntity<ApiResponse<Appointment>> bookAppointment(
             @Valid @RequestBody AppointmentDTO dto) {
 
+        admissionControl.admitPhone(dto.getPhone());
         Appointment appointment = appointmentService.bookAppointment(dto);
         return ResponseEntity
                 .status(HttpStatus.CREATED)
@@ -44,30 +75,151 @@ public class AppointmentController {
     // ==================== ADMIN ====================
 
     /**
-     * Get all appointments — Admin only.
-     * GET /api/appointments?adminPassword=xxxx
+     * List appointments newest first, one page at a time — Admin only.
+     * GET /api/appointments?adminPassword=xxxx[&status=PENDING][&from=..][&to=..][&patient=..][&cursor=..][&limit=50]
+     * Items are summaries without the reason; GET /api/appointments/{id} returns it.
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Appointment>>> getAllAppointments(
+    @SqlBudget(1)
+    public ResponseEntity<ApiResponse<CursorPage<AppointmentSummary>>> getAllAppointments(
+            @RequestParam String adminPassword,
+            AppointmentFilter filter) {
+
+        adminPasswordCheck.validate(adminPassword);
+        CursorPage<AppointmentSummary> page = appointmentService.listAppointments(filter);
+        return ResponseEntity.ok(ApiResponse.success("Appointments retrieved", page));
+    }
+
+    /**
+     * Appointment totals per status — Admin only.
+     * GET /api/appointments/stats?adminPassword=xxxx
+     */
+    @GetMapping("/stats")
+    @SqlBudget(0)
+    public ResponseEntity<ApiResponse<AppointmentStatsDTO>> getStats(
             @RequestParam String adminPassword) {
 
-        validateAdmin(adminPassword);
-        List<Appointment> appointments = appointmentService.getAllAppointments();
-        return ResponseEntity.ok(ApiResponse.success("Appointments retrieved", appointments));
+        adminPasswordCheck.validate(adminPassword);
+        return ResponseEntity.ok(ApiResponse.success("Appointment stats", appointmentService.getStats()));
+    }
+
+    /**
+     * Appointment counts per day, hour, status and doctor for the calendar view — Admin only.
+     * GET /api/appointments/calendar?adminPassword=xxxx[&from=2026-03-09][&to=2026-03-16]
+     * Defaults to the current week; {@code to} is exclusive.
+     */
+    @GetMapping("/calendar")
+    @SqlBudget(1)
+    public ResponseEntity<ApiResponse<AppointmentCalendarDTO>> getCalendar(
+            @RequestParam String adminPassword,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        adminPasswordCheck.validate(adminPassword);
+        return ResponseEntity.ok(ApiResponse.success("Appointment calendar", calendarService.getCalendar(from, to)));
+    }
+
+    /**
+     * Export appointments as a file, oldest first — Admin only.
+     * GET /api/appointments/export?adminPassword=xxxx[&format=csv|ndjson][&status=..][&from=..][&to=..]
+     * Streamed from a database cursor straight into the response, so memory use does not depend on
+     * the number of rows. The one SELECT runs on the async response thread, which may run for
+     * app.export.timeout-ms instead of the default async timeout.
+     */
+    @GetMapping("/export")
+    @SqlBudget(1)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam String adminPassword,
+            @RequestParam(required = false) String format,
+            AppointmentFilter filter,
+            WebRequest webRequest) {
+
+        adminPasswordCheck.validate(adminPassword);
+        webRequest.setAttribute(AsyncTimeoutConfig.TIMEOUT_ATTRIBUTE, exportService.getTimeoutMs(),
+                WebRequest.SCOPE_REQUEST);
+        DataFormat exportFormat = DataFormat.parse(format);
+        AppointmentExportService.Query query = exportService.query(filter);
+        String filename = "appointments-" + LocalDate.now() + "." + exportFormat.extension();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, exportFormat.contentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .cacheControl(CacheControl.noStore())
+                .body(out -> exportService.export(query, exportFormat, out));
+    }
+
+    /**
+     * Appointments changed or deleted since a change cursor, oldest change first — Admin only.
+     * GET /api/appointments/changes?adminPassword=xxxx[&since=0][&limit=1000]
+     * Lets a reconnecting client fetch only the diff; pass the returned cursor as the next {@code since}.
+     */
+    @GetMapping("/changes")
+    @SqlBudget(2)
+    public ResponseEntity<ApiResponse<AppointmentChangesDTO>> getChanges(
+            @RequestParam String adminPassword,
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) Integer limit) {
+
+        adminPasswordCheck.validate(adminPassword);
+        return ResponseEntity.ok(ApiResponse.success("Appointment changes", appointmentService.getChanges(since, limit)));
+    }
+
+    /**
+     * Live appointment changes as Server-Sent Events — Admin only.
+     * GET /api/appointments/events?adminPassword=xxxx
+     * Events: ready, booked, status, deleted, imported, resync (events were dropped; fetch /changes).
+     * The connection is held in async mode, so an idle dashboard ties up no request thread.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @SqlBudget(0)
+    public ResponseEntity<SseEmitter> events(@RequestParam String adminPassword) {
+        adminPasswordCheck.validate(adminPassword);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                // Stop nginx-style proxies from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(eventBroadcaster.subscribe());
+    }
+
+    /**
+     * Search patients by name or phone, best match first — Admin only.
+     * GET /api/appointments/search?adminPassword=xxxx&q=rahim[&page=0][&size=20]
+     * Answered from the in-memory trigram index.
+     */
+    @GetMapping("/search")
+    @SqlBudget(0)
+    public ResponseEntity<ApiResponse<PatientSearchPage>> search(
+            @RequestParam String adminPassword,
+            @RequestParam String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+
+        adminPasswordCheck.validate(adminPassword);
+        return ResponseEntity.ok(ApiResponse.success("Search results", patientSearchService.search(q, page, size)));
     }
 
     /**
      * Get appointment by ID — Admin only.
      * GET /api/appointments/{id}?adminPassword=xxxx
+     * The row is read once; a matching If-None-Match on its version is answered with 304,
+     * without serializing the appointment.
      */
     @GetMapping("/{id}")
+    @SqlBudget(1)
     public ResponseEntity<ApiResponse<Appointment>> getById(
             @PathVariable Long id,
-            @RequestParam String adminPassword) {
+            @RequestParam String adminPassword,
+            WebRequest request) {
 
-        validateAdmin(adminPassword);
+        adminPasswordCheck.validate(adminPassword);
         Appointment appointment = appointmentService.getAppointmentById(id);
-        return ResponseEntity.ok(ApiResponse.success("Appointment found", appointment));
+        // Also sets the ETag header on the 200 response
+        if (request.checkNotModified(AppointmentService.etag(id, appointment.getVersion()))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.success("Appointment found", appointment));
     }
 
     /**
@@ -76,12 +228,13 @@ public class AppointmentController {
      * Body: { "status": "CONFIRMED" }
      */
     @PutMapping("/{id}/status")
+    @SqlBudget(3)
     public ResponseEntity<ApiResponse<Appointment>> updateStatus(
             @PathVariable Long id,
             @RequestBody Map<String, String> body,
             @RequestParam String adminPassword) {
 
-        validateAdmin(adminPassword);
+        adminPasswordCheck.validate(adminPassword);
         String status = body.get("status");
         if (status == null || status.isBlank()) {
             return ResponseEntity.badRequest()
@@ -96,27 +249,13 @@ public class AppointmentController {
      * DELETE /api/appointments/{id}?adminPassword=xxxx
      */
     @DeleteMapping("/{id}")
+    @SqlBudget(3)
     public ResponseEntity<ApiResponse<Void>> deleteAppointment(
             @PathVariable Long id,
             @RequestParam String adminPassword) {
 
-        validateAdmin(adminPassword);
+        adminPasswordCheck.validate(adminPassword);
         appointmentService.deleteAppointment(id);
         return ResponseEntity.ok(ApiResponse.success("Appointment deleted successfully"));
     }
-
-    /**
-     * Simple in-request admin password check.
-     * For production, replace with JWT-based authentication.
-     */
-    private void validateAdmin(String password) {
-        // The admin password is configured in application.properties
-        String adminPassword = System.getenv("ADMIN_PASSWORD");
-        if (adminPassword == null || adminPassword.isBlank()) {
-            adminPassword = "admin123"; // fallback for local dev
-        }
-        if (!adminPassword.equals(password)) {
-            throw new IllegalArgumentException("Unauthorized: invalid admin password.");
-        }
-    }
 }
@@ -0,0 +1,32 @@
+package com.doctorwebsite.controller;
+
+import com.doctorwebsite.service.CatalogCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Builds responses for cached catalog entries.
+ * Setting ETag and Last-Modified on the ResponseEntity lets Spring MVC answer a matching
+ * If-None-Match / If-Modified-Since with 304 and no body.
+ */
+@Component
+class CatalogResponses {
+
+    /** How long browsers and the CDN may reuse a catalog response before revalidating */
+    @Value("${app.http.catalog-max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    ResponseEntity<byte[]> ok(CatalogCache.Entry entry) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(entry.etag())
+                .lastModified(entry.lastModified())
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic().mustRevalidate())
+                .body(entry.body());
+    }
+}
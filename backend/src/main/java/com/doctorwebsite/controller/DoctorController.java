@@ -1,14 +1,23 @@
 package com.doctorwebsite.controller;
 
+import com.doctorwebsite.config.SqlBudget;
 import com.doctorwebsite.dto.ApiResponse;
-import com.doctorwebsite.dto.DoctorDTO;
-import com.doctorwebsite.entity.Doctor;
+import com.doctorwebsite.dto.DoctorSearchResult;
+import com.doctorwebsite.dto.DoctorSuggestion;
+import com.doctorwebsite.dto.SlotDTO;
+import com.doctorwebsite.service.DoctorSearchIndex;
+import com.doctorwebsite.service.DoctorSearchIndex.Field;
 import com.doctorwebsite.service.DoctorService;
+import com.doctorwebsite.service.SlotAvailabilityService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller for doctor profile data.
@@ -20,18 +29,55 @@ import java.util.List;
 public class DoctorController {
 
     private final DoctorService doctorService;
+    private final CatalogResponses catalogResponses;
+    private final SlotAvailabilityService slotService;
+    private final DoctorSearchIndex searchIndex;
 
     /**
      * Get all doctors.
-     * GET /api/doctors
+     * GET /api/doctors — served as pre-serialized JSON from the catalog cache,
+     * with ETag / Last-Modified so repeat visits get 304 Not Modified.
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<DoctorDTO>>> getAllDoctors() {
-        List<DoctorDTO> doctors = doctorService.getAllDoctors()
-                .stream()
-                .map(doctorService::mapToDTO)
-                .toList();
-        return ResponseEntity.ok(ApiResponse.success("Doctors retrieved", doctors));
+    @SqlBudget(1)
+    public ResponseEntity<byte[]> getAllDoctors() {
+        return catalogResponses.ok(doctorService.getDoctorsResponse());
+    }
+
+    /**
+     * Search doctors by words of name, specialization, degree or clinic, narrowed by facet values.
+     * GET /api/doctors/search?q=card&specialization=Cardiology&degree=MBBS&clinic=...
+     * Served from the in-memory index; the result carries facet counts over the matches.
+     */
+    @GetMapping("/search")
+    @SqlBudget(0)
+    public ResponseEntity<ApiResponse<DoctorSearchResult>> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) String degree,
+            @RequestParam(required = false) String clinic) {
+
+        Map<Field, String> facets = new EnumMap<>(Field.class);
+        facets.put(Field.SPECIALIZATION, specialization);
+        facets.put(Field.DEGREE, degree);
+        facets.put(Field.CLINIC, clinic);
+        return ResponseEntity.ok(ApiResponse.success("Doctors found", searchIndex.search(q, facets)));
+    }
+
+    /**
+     * Autocomplete for the doctor search box.
+     * GET /api/doctors/search/suggest?prefix=card&limit=5 — limit is 1 to MAX_SUGGESTIONS; more is capped.
+     */
+    @GetMapping("/search/suggest")
+    @SqlBudget(0)
+    public ResponseEntity<ApiResponse<List<DoctorSuggestion>>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "" + DoctorSearchIndex.MAX_SUGGESTIONS) int limit) {
+
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1.");
+        }
+        return ResponseEntity.ok(ApiResponse.success("Suggestions retrieved", searchIndex.suggest(prefix, limit)));
     }
 
     /**
@@ -39,8 +85,22 @@ public class DoctorController {
      * GET /api/doctors/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<DoctorDTO>> getDoctorById(@PathVariable Long id) {
-        Doctor doctor = doctorService.getDoctorById(id);
-        return ResponseEntity.ok(ApiResponse.success("Doctor found", doctorService.mapToDTO(doctor)));
+    @SqlBudget(1)
+    public ResponseEntity<byte[]> getDoctorById(@PathVariable Long id) {
+        return catalogResponses.ok(doctorService.getDoctorResponse(id));
+    }
+
+    /**
+     * Free appointment slots of a doctor on one day.
+     * GET /api/doctors/{id}/slots?date=2026-03-10
+     */
+    @GetMapping("/{id}/slots")
+    @SqlBudget(2)
+    public ResponseEntity<ApiResponse<List<SlotDTO>>> getFreeSlots(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        List<SlotDTO> slots = slotService.freeSlots(id, date);
+        return ResponseEntity.ok(ApiResponse.success("Free slots retrieved", slots));
     }
 }
@@ -0,0 +1,64 @@
+package com.doctorwebsite.controller;
+
+import com.doctorwebsite.config.SqlBudget;
+import com.doctorwebsite.dto.ApiResponse;
+import com.doctorwebsite.dto.ImportReportDTO;
+import com.doctorwebsite.service.BulkImportService;
+import com.doctorwebsite.service.DataFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * REST controller for bulk data loads — Admin only.
+ * The request body is the file itself (CSV with a header row, or NDJSON), streamed through
+ * the importer without being buffered.
+ */
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final BulkImportService importService;
+    private final AdminPasswordCheck adminPasswordCheck;
+
+    /**
+     * Import appointments.
+     * POST /api/import/appointments?adminPassword=xxxx[&format=csv|ndjson]
+     * The batches are written on the importer's writer thread; the request thread only looks up doctor ids.
+     * The SQL budget is for a file of one chunk; every further chunk adds one batch.
+     */
+    @PostMapping("/appointments")
+    @SqlBudget(2)
+    public ResponseEntity<ApiResponse<ImportReportDTO>> importAppointments(
+            @RequestParam String adminPassword,
+            @RequestParam(required = false) String format,
+            InputStream body) {
+
+        adminPasswordCheck.validate(adminPassword);
+        ImportReportDTO report = importService.importAppointments(
+                new InputStreamReader(body, StandardCharsets.UTF_8), DataFormat.parse(format));
+        return ResponseEntity.ok(ApiResponse.success("Import finished", report));
+    }
+
+    /**
+     * Import medical services.
+     * POST /api/import/services?adminPassword=xxxx[&format=csv|ndjson]
+     */
+    @PostMapping("/services")
+    @SqlBudget(1)
+    public ResponseEntity<ApiResponse<ImportReportDTO>> importServices(
+            @RequestParam String adminPassword,
+            @RequestParam(required = false) String format,
+            InputStream body) {
+
+        adminPasswordCheck.validate(adminPassword);
+        ImportReportDTO report = importService.importServices(
+                new InputStreamReader(body, StandardCharsets.UTF_8), DataFormat.parse(format));
+        return ResponseEntity.ok(ApiResponse.success("Import finished", report));
+    }
+}
@@ -1,14 +1,11 @@
 package com.doctorwebsite.controller;
 
-import com.doctorwebsite.dto.ApiResponse;
-import com.doctorwebsite.entity.MedicalService;
+import com.doctorwebsite.config.SqlBudget;
 import com.doctorwebsite.service.DoctorService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * REST controller for medical services catalog.
  */
@@ -18,15 +15,17 @@ import java.util.List;
 public class ServiceController {
 
     private final DoctorService doctorService;
+    private final CatalogResponses catalogResponses;
 
     /**
      * Get all active services (public).
-     * GET /api/services
+     * GET /api/services — served as pre-serialized JSON from the catalog cache,
+     * with ETag / Last-Modified so repeat visits get 304 Not Modified.
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<MedicalService>>> getServices() {
-        List<MedicalService> services = doctorService.getAllActiveServices();
-        return ResponseEntity.ok(ApiResponse.success("Services retrieved", services));
+    @SqlBudget(1)
+    public ResponseEntity<byte[]> getServices() {
+        return catalogResponses.ok(doctorService.getActiveServicesResponse());
     }
 
     /**
@@ -34,8 +33,8 @@ public class ServiceController {
      * GET /api/services/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<MedicalService>> getServiceById(@PathVariable Long id) {
-        MedicalService service = doctorService.getServiceById(id);
-        return ResponseEntity.ok(ApiResponse.success("Service found", service));
+    @SqlBudget(1)
+    public ResponseEntity<byte[]> getServiceById(@PathVariable Long id) {
+        return catalogResponses.ok(doctorService.getServiceResponse(id));
     }
 }
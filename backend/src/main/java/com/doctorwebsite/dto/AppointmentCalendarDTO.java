@@ -0,0 +1,24 @@
+package com.doctorwebsite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Aggregated appointment counts for the admin calendar over [from, to):
+ * range totals, one entry per day (including empty days) and one per doctor.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentCalendarDTO {
+
+    private LocalDate from;
+    private LocalDate to;
+    private AppointmentStatsDTO totals;
+    private List<CalendarDayDTO> days;
+    private List<CalendarDoctorDTO> doctors;
+}
@@ -0,0 +1,23 @@
+package com.doctorwebsite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Appointments written and deleted after a change cursor, oldest change first.
+ * Pass {@code cursor} back as {@code since} to continue; while {@code hasMore} is true there are further
+ * changes to fetch right away. A row changed several times appears once, in its latest state.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentChangesDTO {
+
+    private List<AppointmentSummary> changed;
+    private List<Long> deleted;
+    private long cursor;
+    private boolean hasMore;
+}
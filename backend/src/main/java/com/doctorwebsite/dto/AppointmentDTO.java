@@ -30,4 +30,7 @@ public class AppointmentDTO {
     private LocalDateTime appointmentDatetime;
 
     private String reason;
+
+    /** Optional — defaults to the clinic's primary doctor */
+    private Long doctorId;
 }
@@ -0,0 +1,25 @@
+package com.doctorwebsite.dto;
+
+import com.doctorwebsite.entity.Appointment;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data of one event on GET /api/appointments/events; the SSE event name says which fields are set.
+ * ready: cursor. booked: appointment. status: appointment, oldStatus. deleted: id, oldStatus, cursor.
+ * imported: count. {@code cursor} is a change-feed position for GET /api/appointments/changes?since=.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AppointmentEventDTO {
+
+    private Long id;
+    private AppointmentSummary appointment;
+    private Appointment.AppointmentStatus oldStatus;
+    private Integer count;
+    private Long cursor;
+}
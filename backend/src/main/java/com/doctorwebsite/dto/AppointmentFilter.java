@@ -0,0 +1,36 @@
+package com.doctorwebsite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Query parameters for the admin appointment listing.
+ * Every field is optional; {@code from} is inclusive and {@code to} is exclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentFilter {
+
+    /** PENDING, CONFIRMED or CANCELLED */
+    private String status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    /** Case-insensitive fragment of the patient name */
+    private String patient;
+
+    /** Opaque cursor returned as nextCursor by the previous page */
+    private String cursor;
+
+    /** Page size; capped server-side */
+    private Integer limit;
+}
@@ -0,0 +1,19 @@
+package com.doctorwebsite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Appointment totals per status for the admin dashboard header.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentStatsDTO {
+
+    private long total;
+    private long pending;
+    private long confirmed;
+    private long cancelled;
+}
@@ -0,0 +1,25 @@
+package com.doctorwebsite.dto;
+
+import com.doctorwebsite.entity.Appointment;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the admin appointment listing.
+ * Leaves out the reason (a TEXT column); {@code hasReason} tells the client whether
+ * GET /api/appointments/{id} has one to show. {@code changeSeq} is its position in the change feed.
+ * Read straight from the table by a constructor-expression query, never as an entity.
+ */
+public record AppointmentSummary(
+        Long id,
+        Long doctorId,
+        String patientName,
+        String phone,
+        String patientEmail,
+        LocalDateTime appointmentDatetime,
+        Appointment.AppointmentStatus status,
+        boolean hasReason,
+        LocalDateTime createdAt,
+        long version,
+        long changeSeq) {
+}
@@ -0,0 +1,20 @@
+package com.doctorwebsite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Appointment counts of one calendar day: per status, and per hour of the day (index 0–23).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarDayDTO {
+
+    private LocalDate date;
+    private AppointmentStatsDTO counts;
+    private long[] hours;
+}
@@ -0,0 +1,17 @@
+package com.doctorwebsite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Appointment counts of one doctor over a calendar range; doctorId is null for untracked legacy rows.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarDoctorDTO {
+
+    private Long doctorId;
+    private AppointmentStatsDTO counts;
+}
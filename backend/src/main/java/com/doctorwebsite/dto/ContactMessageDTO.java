@@ -2,6 +2,7 @@ package com.doctorwebsite.dto;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,14 +16,18 @@ import lombok.NoArgsConstructor;
 public class ContactMessageDTO {
 
     @NotBlank(message = "Name is required")
+    @Size(max = 255, message = "Name is too long")
     private String name;
 
     @Email(message = "Valid email is required")
     @NotBlank(message = "Email is required")
+    @Size(max = 255, message = "Email is too long")
     private String email;
 
+    @Size(max = 255, message = "Phone is too long")
     private String phone;
 
     @NotBlank(message = "Message is required")
+    @Size(max = 5000, message = "Message must be at most 5000 characters")
     private String message;
 }
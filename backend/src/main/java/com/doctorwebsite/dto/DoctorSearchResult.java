@@ -0,0 +1,20 @@
+package com.doctorwebsite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Doctors matching a search, plus facet counts (specialization, degree, clinic) over those matches.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorSearchResult {
+
+    private List<DoctorSummary> doctors;
+    private Map<String, List<FacetCount>> facets;
+}
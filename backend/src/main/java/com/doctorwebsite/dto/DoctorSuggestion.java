@@ -0,0 +1,18 @@
+package com.doctorwebsite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Autocomplete suggestion: a doctor name or facet value, the field it belongs to, and how many doctors have it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorSuggestion {
+
+    private String value;
+    private String field;
+    private int count;
+}
@@ -0,0 +1,18 @@
+package com.doctorwebsite.dto;
+
+/**
+ * Doctor as shown in lists and search results — every profile field except the bio,
+ * which is only loaded for the single-doctor view ({@link DoctorDTO}).
+ * Read straight from the table by a constructor-expression query, never as an entity.
+ */
+public record DoctorSummary(
+        Long id,
+        String name,
+        String degree,
+        String specialization,
+        Integer experienceYears,
+        String clinicTiming,
+        String photoUrl,
+        String clinicName,
+        Double consultationFee) {
+}
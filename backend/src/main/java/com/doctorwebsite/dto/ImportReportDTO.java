@@ -0,0 +1,27 @@
+package com.doctorwebsite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Rejected records do not stop the load; the first ones are listed
+ * in errors (errorsTruncated when there were more).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+
+    private String kind;
+    private String format;
+    private long records;
+    private long imported;
+    private long failed;
+    private double seconds;
+    private long rowsPerSecond;
+    private List<ImportErrorDTO> errors;
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,25 @@
+package com.doctorwebsite.dto;
+
+import com.doctorwebsite.entity.Appointment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One appointment matched by patient search, served straight from the search index.
+ * score: 4 exact, 3 prefix (name) or local-number suffix (phone), 2 word prefix, 1 substring.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSearchHit {
+
+    private Long id;
+    private String patientName;
+    private String phone;
+    private LocalDateTime appointmentDatetime;
+    private Appointment.AppointmentStatus status;
+    private int score;
+}
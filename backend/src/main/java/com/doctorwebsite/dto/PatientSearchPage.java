@@ -0,0 +1,21 @@
+package com.doctorwebsite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of ranked patient search results; {@code total} counts every match.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSearchPage {
+
+    private List<PatientSearchHit> items;
+    private long total;
+    private int page;
+    private int size;
+}
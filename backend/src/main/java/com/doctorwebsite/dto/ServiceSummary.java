@@ -0,0 +1,13 @@
+package com.doctorwebsite.dto;
+
+/**
+ * Active medical service as listed on the Services page.
+ * Read straight from the table by a constructor-expression query, never as an entity.
+ */
+public record ServiceSummary(
+        Long id,
+        String name,
+        String description,
+        String iconClass,
+        Integer displayOrder) {
+}
@@ -0,0 +1,19 @@
+package com.doctorwebsite.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A bookable time slot [start, end) for a doctor.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotDTO {
+
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -14,7 +14,17 @@ import java.time.LocalDateTime;
  * Appointment entity — represents a patient's appointment booking.
  */
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        // Keep in sync with db/migration/V3__appointment_indexes.sql
+        @Index(name = "idx_appointments_status_datetime", columnList = "status, appointment_datetime"),
+        @Index(name = "idx_appointments_datetime", columnList = "appointment_datetime"),
+        @Index(name = "idx_appointments_phone", columnList = "phone"),
+        // Descending here because H2 does not read an index backwards for ORDER BY ... DESC;
+        // MySQL does, so the migration's ascending index serves the same keyset
+        @Index(name = "idx_appointments_created_id", columnList = "created_at DESC, id DESC"),
+        // Keep in sync with db/migration/V4__appointment_change_seq.sql
+        @Index(name = "idx_appointments_change_seq", columnList = "change_seq")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,6 +34,10 @@ public class Appointment {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /** Doctor the appointment is with; null on rows booked before doctors were tracked */
+    @Column(name = "doctor_id")
+    private Long doctorId;
+
     @NotBlank(message = "Patient name is required")
     @Column(name = "patient_name", nullable = false)
     private String patientName;
@@ -52,9 +66,27 @@ public class Appointment {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /** Optimistic-lock version; bumped on every update and used as the ETag */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    /** Position of the latest write in the change feed (/api/appointments/changes); set by the writer */
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
     }
 
     public enum AppointmentStatus {
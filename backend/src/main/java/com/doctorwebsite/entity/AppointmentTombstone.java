@@ -0,0 +1,33 @@
+package com.doctorwebsite.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind by a deleted appointment, so the change feed can tell clients to drop it.
+ * Takes a change sequence number like any other appointment write.
+ */
+@Entity
+@Table(name = "appointment_tombstones", indexes = {
+        // Keep in sync with db/migration/V4__appointment_change_seq.sql
+        @Index(name = "idx_appointment_tombstones_change_seq", columnList = "change_seq")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentTombstone {
+
+    @Id
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
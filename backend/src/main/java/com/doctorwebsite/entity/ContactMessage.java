@@ -0,0 +1,47 @@
+package com.doctorwebsite.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * ContactMessage entity — a contact form submission, loaded from the contact journal.
+ * (journal_segment, journal_offset) identifies the journal record it came from and
+ * doubles as the drainer's checkpoint.
+ */
+@Entity
+@Table(name = "contact_messages",
+        uniqueConstraints = @UniqueConstraint(name = "uk_contact_journal_position",
+                columnNames = {"journal_segment", "journal_offset"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String email;
+
+    private String phone;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String message;
+
+    @Column(name = "submitted_at", nullable = false)
+    private LocalDateTime submittedAt;
+
+    @Column(name = "journal_segment", nullable = false)
+    private Long journalSegment;
+
+    @Column(name = "journal_offset", nullable = false)
+    private Long journalOffset;
+}
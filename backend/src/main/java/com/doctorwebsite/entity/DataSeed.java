@@ -0,0 +1,27 @@
+package com.doctorwebsite.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record that a piece of startup seed data has been applied (see DataSeeder),
+ * so later starts can skip checking for it.
+ */
+@Entity
+@Table(name = "data_seeds")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataSeed {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "seeded_at", nullable = false)
+    private LocalDateTime seededAt;
+}
@@ -0,0 +1,18 @@
+package com.doctorwebsite.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the server sheds load or has no room for another connection (503).
+ * Carries how long the client should wait before retrying.
+ */
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
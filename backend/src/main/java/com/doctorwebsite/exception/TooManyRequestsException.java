@@ -0,0 +1,18 @@
+package com.doctorwebsite.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a client exceeds its request rate (429).
+ * Carries how long the client should wait before retrying.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
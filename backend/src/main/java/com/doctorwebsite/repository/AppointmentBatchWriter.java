@@ -0,0 +1,92 @@
+package com.doctorwebsite.repository;
+
+import com.doctorwebsite.entity.Appointment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts many appointments with one JDBC batch.
+ * Hibernate cannot batch inserts on an IDENTITY key, so batched write paths go through
+ * here instead; the drivers still hand back every generated id
+ * (on MySQL add rewriteBatchedStatements=true to send one multi-row INSERT).
+ * Must run inside a transaction — callers decide the commit boundary, and set each change_seq.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AppointmentBatchWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO appointments
+                (doctor_id, patient_name, phone, patient_email, appointment_datetime,
+                 reason, status, created_at, updated_at, version, change_seq)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert all appointments and set their generated ids, createdAt and updatedAt
+     * the same way the entity lifecycle callbacks would.
+     */
+    public void insertAll(List<Appointment> appointments) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Appointment a : appointments) {
+            if (a.getCreatedAt() == null) {
+                a.setCreatedAt(now);
+            }
+            a.setUpdatedAt(a.getCreatedAt());
+        }
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, appointments.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return appointments.size();
+                    }
+                }, keys);
+
+        List<Map<String, Object>> rows = keys.getKeyList();
+        if (rows.size() != appointments.size()) {
+            throw new IllegalStateException("Driver returned " + rows.size() + " generated keys for "
+                    + appointments.size() + " inserted appointments");
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            appointments.get(i).setId(((Number) rows.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Appointment a) throws SQLException {
+        if (a.getDoctorId() != null) {
+            ps.setLong(1, a.getDoctorId());
+        } else {
+            ps.setNull(1, Types.BIGINT);
+        }
+        ps.setString(2, a.getPatientName());
+        ps.setString(3, a.getPhone());
+        ps.setString(4, a.getPatientEmail());
+        ps.setTimestamp(5, Timestamp.valueOf(a.getAppointmentDatetime()));
+        ps.setString(6, a.getReason());
+        ps.setString(7, a.getStatus().name());
+        ps.setTimestamp(8, Timestamp.valueOf(a.getCreatedAt()));
+        ps.setTimestamp(9, Timestamp.valueOf(a.getUpdatedAt()));
+        ps.setLong(10, a.getChangeSeq());
+    }
+}
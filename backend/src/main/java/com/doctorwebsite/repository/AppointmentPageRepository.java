@@ -0,0 +1,31 @@
+package com.doctorwebsite.repository;
+
+import com.doctorwebsite.dto.AppointmentSummary;
+import com.doctorwebsite.entity.Appointment;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The admin listing's keyset page query, mixed into {@link AppointmentRepository}.
+ * Its WHERE clause depends on which filters are set, which a fixed @Query cannot express.
+ */
+public interface AppointmentPageRepository {
+
+    /**
+     * Keyset page of appointments, newest first.
+     * Seeks past (cursorCreatedAt, cursorId) instead of using an OFFSET, so the
+     * cost of a page does not grow with how deep the admin has scrolled.
+     * Null filters are left out of the query; patientPattern is an already-lowercased LIKE pattern.
+     * Rows come back as summaries in a read-only transaction: the reason column is never read
+     * and nothing enters the persistence context.
+     */
+    List<AppointmentSummary> findPage(Appointment.AppointmentStatus status,
+                                      LocalDateTime from,
+                                      LocalDateTime to,
+                                      String patientPattern,
+                                      LocalDateTime cursorCreatedAt,
+                                      Long cursorId,
+                                      Pageable pageable);
+}
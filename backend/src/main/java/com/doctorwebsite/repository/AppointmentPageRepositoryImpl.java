@@ -0,0 +1,78 @@
+package com.doctorwebsite.repository;
+
+import com.doctorwebsite.dto.AppointmentSummary;
+import com.doctorwebsite.entity.Appointment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Builds the page query from the filters that are set. A catch-all such as
+ * {@code (:status IS NULL OR a.status = :status)} keeps the optimizer off the index for that column
+ * whatever is bound, so each filter becomes a plain predicate the status/date indexes can serve.
+ * The seek is a range on created_at plus a tie-break on id, which idx_appointments_created_id can serve;
+ * the equivalent {@code created_at < c OR (created_at = c AND id < i)} cannot be used as an index range.
+ */
+@RequiredArgsConstructor
+class AppointmentPageRepositoryImpl implements AppointmentPageRepository {
+
+    private static final String SELECT = """
+            SELECT new com.doctorwebsite.dto.AppointmentSummary(
+                   a.id, a.doctorId, a.patientName, a.phone, a.patientEmail, a.appointmentDatetime, a.status,
+                   CASE WHEN a.reason IS NOT NULL THEN true ELSE false END, a.createdAt, a.version, a.changeSeq)
+            FROM Appointment a
+            WHERE a.createdAt <= :cursorCreatedAt
+              AND (a.createdAt < :cursorCreatedAt OR a.id < :cursorId)
+            """;
+
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentSummary> findPage(Appointment.AppointmentStatus status,
+                                             LocalDateTime from,
+                                             LocalDateTime to,
+                                             String patientPattern,
+                                             LocalDateTime cursorCreatedAt,
+                                             Long cursorId,
+                                             Pageable pageable) {
+        StringBuilder jpql = new StringBuilder(SELECT);
+        if (status != null) {
+            jpql.append("  AND a.status = :status\n");
+        }
+        if (from != null) {
+            jpql.append("  AND a.appointmentDatetime >= :from\n");
+        }
+        if (to != null) {
+            jpql.append("  AND a.appointmentDatetime < :to\n");
+        }
+        if (patientPattern != null) {
+            jpql.append("  AND LOWER(a.patientName) LIKE :patientPattern ESCAPE '\\'\n");
+        }
+        jpql.append("ORDER BY a.createdAt DESC, a.id DESC");
+
+        TypedQuery<AppointmentSummary> query = entityManager.createQuery(jpql.toString(), AppointmentSummary.class)
+                .setParameter("cursorCreatedAt", cursorCreatedAt)
+                .setParameter("cursorId", cursorId)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize());
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        if (patientPattern != null) {
+            query.setParameter("patientPattern", patientPattern);
+        }
+        return query.getResultList();
+    }
+}
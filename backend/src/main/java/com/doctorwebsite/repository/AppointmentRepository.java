@@ -1,23 +1,137 @@
 package com.doctorwebsite.repository;
 
+import com.doctorwebsite.dto.AppointmentSummary;
 import com.doctorwebsite.entity.Appointment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * Repository for Appointment entity — provides JPA CRUD operations.
+ * The admin listing's page query lives in {@link AppointmentPageRepository}.
  */
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, AppointmentPageRepository {
 
-    /** Find appointments by patient name (case-insensitive) */
-    List<Appointment> findByPatientNameContainingIgnoreCase(String patientName);
+    /** Delete one appointment by id with a single statement (no load before the delete) */
+    @Modifying
+    @Query("DELETE FROM Appointment a WHERE a.id = :id")
+    int deleteDirectlyById(@Param("id") Long id);
 
     /** Find appointments by status */
     List<Appointment> findByStatus(Appointment.AppointmentStatus status);
 
-    /** Find appointments by phone number */
-    List<Appointment> findByPhone(String phone);
+    /**
+     * Appointments whose latest write has change_seq in (since, upTo], oldest change first,
+     * as summaries in a read-only transaction. Served by idx_appointments_change_seq.
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.doctorwebsite.dto.AppointmentSummary(
+                   a.id, a.doctorId, a.patientName, a.phone, a.patientEmail, a.appointmentDatetime, a.status,
+                   CASE WHEN a.reason IS NOT NULL THEN true ELSE false END, a.createdAt, a.version, a.changeSeq)
+            FROM Appointment a
+            WHERE a.changeSeq > :since AND a.changeSeq <= :upTo
+            ORDER BY a.changeSeq
+            """)
+    List<AppointmentSummary> findChangedBetween(@Param("since") long since, @Param("upTo") long upTo,
+                                                Pageable pageable);
+
+    /** Highest change sequence number written so far, 0 when the table is empty */
+    @Query("SELECT COALESCE(MAX(a.changeSeq), 0) FROM Appointment a")
+    long findMaxChangeSeq();
+
+    /** Number of appointments per status, computed in the database */
+    @Query("SELECT a.status AS status, COUNT(a) AS total FROM Appointment a GROUP BY a.status")
+    List<StatusCount> countGroupedByStatus();
+
+    /**
+     * Appointment counts in [from, to) per day, hour, status and doctor — counts only, no entities.
+     * The calendar views (per day, per hour, per status, per doctor) are all sums over these cells.
+     */
+    @Query("""
+            SELECT extract(date FROM a.appointmentDatetime) AS day,
+                   extract(hour FROM a.appointmentDatetime) AS hour,
+                   a.status AS status, a.doctorId AS doctorId, COUNT(a) AS total
+            FROM Appointment a
+            WHERE a.appointmentDatetime >= :from AND a.appointmentDatetime < :to
+            GROUP BY extract(date FROM a.appointmentDatetime), extract(hour FROM a.appointmentDatetime),
+                     a.status, a.doctorId
+            """)
+    List<CalendarCell> countCalendarCells(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Slot-holding bookings from the given time on, without hydrating entities.
+     * Used to rebuild the in-memory slot calendars.
+     */
+    @Query("""
+            SELECT a.id AS id, a.doctorId AS doctorId, a.appointmentDatetime AS appointmentDatetime
+            FROM Appointment a
+            WHERE a.appointmentDatetime >= :from AND a.status <> :excluded
+            """)
+    List<SlotBooking> findSlotBookingsFrom(@Param("from") LocalDateTime from,
+                                           @Param("excluded") Appointment.AppointmentStatus excluded);
+
+    /**
+     * Next chunk of search fields in id order, for rebuilding the patient search index
+     * without hydrating entities.
+     */
+    @Query("""
+            SELECT a.id AS id, a.patientName AS patientName, a.phone AS phone,
+                   a.appointmentDatetime AS appointmentDatetime, a.status AS status
+            FROM Appointment a
+            WHERE a.id > :afterId
+            ORDER BY a.id
+            """)
+    List<SearchRow> findSearchRowsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /** Row of {@link #findSearchRowsAfter} */
+    interface SearchRow {
+        Long getId();
+
+        String getPatientName();
+
+        String getPhone();
+
+        LocalDateTime getAppointmentDatetime();
+
+        Appointment.AppointmentStatus getStatus();
+    }
+
+    /** Row of {@link #findSlotBookingsFrom} */
+    interface SlotBooking {
+        Long getId();
+
+        Long getDoctorId();
+
+        LocalDateTime getAppointmentDatetime();
+    }
+
+    /** Row of {@link #countCalendarCells} */
+    interface CalendarCell {
+        LocalDate getDay();
+
+        int getHour();
+
+        Appointment.AppointmentStatus getStatus();
+
+        Long getDoctorId();
+
+        long getTotal();
+    }
+
+    /** Row of {@link #countGroupedByStatus()} */
+    interface StatusCount {
+        Appointment.AppointmentStatus getStatus();
+
+        long getTotal();
+    }
 }
@@ -0,0 +1,43 @@
+package com.doctorwebsite.repository;
+
+import com.doctorwebsite.entity.AppointmentTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for AppointmentTombstone entity.
+ */
+@Repository
+public interface AppointmentTombstoneRepository extends JpaRepository<AppointmentTombstone, Long> {
+
+    /** Tombstones with change_seq in (since, upTo], oldest change first */
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT t FROM AppointmentTombstone t
+            WHERE t.changeSeq > :since AND t.changeSeq <= :upTo
+            ORDER BY t.changeSeq
+            """)
+    List<AppointmentTombstone> findChangedBetween(@Param("since") long since, @Param("upTo") long upTo,
+                                                  Pageable pageable);
+
+    /** Insert a tombstone without the SELECT that save() would run first for an assigned id */
+    @Modifying
+    @Query(value = """
+            INSERT INTO appointment_tombstones (appointment_id, change_seq, deleted_at)
+            VALUES (:appointmentId, :changeSeq, :deletedAt)
+            """, nativeQuery = true)
+    void insert(@Param("appointmentId") long appointmentId, @Param("changeSeq") long changeSeq,
+                @Param("deletedAt") LocalDateTime deletedAt);
+
+    /** Highest change sequence number written so far, 0 when there are no tombstones */
+    @Query("SELECT COALESCE(MAX(t.changeSeq), 0) FROM AppointmentTombstone t")
+    long findMaxChangeSeq();
+}
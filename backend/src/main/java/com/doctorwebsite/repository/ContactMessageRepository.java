@@ -0,0 +1,17 @@
+package com.doctorwebsite.repository;
+
+import com.doctorwebsite.entity.ContactMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for ContactMessage entity.
+ */
+@Repository
+public interface ContactMessageRepository extends JpaRepository<ContactMessage, Long> {
+
+    /** Most recently drained journal record — where the drainer resumes */
+    Optional<ContactMessage> findTopByOrderByJournalSegmentDescJournalOffsetDesc();
+}
@@ -0,0 +1,12 @@
+package com.doctorwebsite.repository;
+
+import com.doctorwebsite.entity.DataSeed;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for DataSeed entity.
+ */
+@Repository
+public interface DataSeedRepository extends JpaRepository<DataSeed, String> {
+}
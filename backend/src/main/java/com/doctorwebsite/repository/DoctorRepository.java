@@ -1,10 +1,14 @@
 package com.doctorwebsite.repository;
 
+import com.doctorwebsite.dto.DoctorSummary;
 import com.doctorwebsite.entity.Doctor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for Doctor entity.
@@ -12,6 +16,23 @@ import java.util.List;
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 
-    /** Search doctors by specialization */
-    List<Doctor> findBySpecializationContainingIgnoreCase(String specialization);
+    /** The clinic's primary doctor (lowest id) */
+    Optional<Doctor> findFirstByOrderByIdAsc();
+
+    /**
+     * All doctors without their bio, lowest id first, for the doctor list and search index.
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.doctorwebsite.dto.DoctorSummary(
+                   d.id, d.name, d.degree, d.specialization, d.experienceYears, d.clinicTiming,
+                   d.photoUrl, d.clinicName, d.consultationFee)
+            FROM Doctor d
+            ORDER BY d.id
+            """)
+    List<DoctorSummary> findAllSummaries();
+
+    /** Ids of all doctors, lowest first */
+    @Query("SELECT d.id FROM Doctor d ORDER BY d.id")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,51 @@
+package com.doctorwebsite.repository;
+
+import com.doctorwebsite.entity.MedicalService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Inserts many medical services with one JDBC batch (see {@link AppointmentBatchWriter}).
+ * Must run inside a transaction — callers decide the commit boundary.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ServiceBatchWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO services (name, description, icon_class, display_order, active)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<MedicalService> services) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                MedicalService s = services.get(i);
+                ps.setString(1, s.getName());
+                ps.setString(2, s.getDescription());
+                ps.setString(3, s.getIconClass());
+                if (s.getDisplayOrder() != null) {
+                    ps.setInt(4, s.getDisplayOrder());
+                } else {
+                    ps.setNull(4, Types.INTEGER);
+                }
+                ps.setBoolean(5, s.getActive() == null || s.getActive());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return services.size();
+            }
+        });
+    }
+}
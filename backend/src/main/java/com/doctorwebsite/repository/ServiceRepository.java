@@ -1,8 +1,11 @@
 package com.doctorwebsite.repository;
 
+import com.doctorwebsite.dto.ServiceSummary;
 import com.doctorwebsite.entity.MedicalService;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -12,6 +15,15 @@ import java.util.List;
 @Repository
 public interface ServiceRepository extends JpaRepository<MedicalService, Long> {
 
-    /** Find only active services sorted by display order */
-    List<MedicalService> findByActiveTrueOrderByDisplayOrderAsc();
+    /**
+     * Only active services sorted by display order, as read-only summaries for the Services page.
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.doctorwebsite.dto.ServiceSummary(s.id, s.name, s.description, s.iconClass, s.displayOrder)
+            FROM MedicalService s
+            WHERE s.active = true
+            ORDER BY s.displayOrder
+            """)
+    List<ServiceSummary> findActiveSummaries();
 }
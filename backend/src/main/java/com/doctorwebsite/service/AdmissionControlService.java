@@ -0,0 +1,109 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.exception.ServiceUnavailableException;
+import com.doctorwebsite.exception.TooManyRequestsException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the public write endpoints (booking, contact form):
+ * per-IP and per-phone token buckets, plus load shedding when requests are already
+ * queueing for a database connection — so a bot burst cannot starve the admin UI.
+ */
+@Service
+@RequiredArgsConstructor
+public class AdmissionControlService {
+
+    /** The primary pool, where public writes wait; replica reads have a pool of their own */
+    private final HikariDataSource primaryDataSource;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.ip.burst:10}")
+    private int ipBurst;
+
+    @Value("${app.rate-limit.ip.per-minute:10}")
+    private double ipPerMinute;
+
+    @Value("${app.rate-limit.phone.burst:3}")
+    private int phoneBurst;
+
+    @Value("${app.rate-limit.phone.per-minute:0.5}")
+    private double phonePerMinute;
+
+    @Value("${app.rate-limit.max-tracked-clients:100000}")
+    private int maxTrackedClients;
+
+    /** Shed public writes when more than this many threads wait for a pool connection; 0 disables */
+    @Value("${app.load-shedding.max-pool-waiters:20}")
+    private int maxPoolWaiters;
+
+    private TokenBucketLimiter ipLimiter;
+    private TokenBucketLimiter phoneLimiter;
+    private volatile HikariPoolMXBean pool;
+
+    @PostConstruct
+    void init() {
+        ipLimiter = new TokenBucketLimiter(ipBurst, ipPerMinute, maxTrackedClients);
+        phoneLimiter = new TokenBucketLimiter(phoneBurst, phonePerMinute, maxTrackedClients);
+    }
+
+    /**
+     * Admit a public write from this client address, or throw 503 / 429.
+     */
+    public void admitClient(String clientAddress) {
+        shedIfOverloaded();
+        if (enabled) {
+            throwIfLimited(ipLimiter.tryAcquire(clientAddress), "Too many requests. Please slow down.");
+        }
+    }
+
+    /**
+     * Limit bookings per phone number, whatever address they come from.
+     * A number without digits (the format check lets "-------" through) would share one bucket
+     * with every other such number, so it is rejected instead.
+     */
+    public void admitPhone(String phone) {
+        if (enabled && phone != null) {
+            String key = phone.replaceAll("[^0-9+]", "");
+            if (key.chars().noneMatch(Character::isDigit)) {
+                throw new IllegalArgumentException("Invalid phone number format");
+            }
+            throwIfLimited(phoneLimiter.tryAcquire(key), "Too many bookings for this phone number. Please try later.");
+        }
+    }
+
+    private static void throwIfLimited(long waitMillis, String message) {
+        if (waitMillis > 0) {
+            throw new TooManyRequestsException(message, Math.max(1, TimeUnit.MILLISECONDS.toSeconds(waitMillis + 999)));
+        }
+    }
+
+    private void shedIfOverloaded() {
+        if (maxPoolWaiters <= 0) {
+            return;
+        }
+        HikariPoolMXBean mxBean = poolMXBean();
+        if (mxBean != null && mxBean.getThreadsAwaitingConnection() > maxPoolWaiters) {
+            throw new ServiceUnavailableException(
+                    "The clinic is very busy right now. Please try again in a moment.", 1);
+        }
+    }
+
+    private HikariPoolMXBean poolMXBean() {
+        HikariPoolMXBean mxBean = pool;
+        if (mxBean == null) {
+            // Null until the pool has started
+            mxBean = primaryDataSource.getHikariPoolMXBean();
+            pool = mxBean;
+        }
+        return mxBean;
+    }
+}
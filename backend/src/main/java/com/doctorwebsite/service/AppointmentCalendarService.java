@@ -0,0 +1,151 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.dto.AppointmentCalendarDTO;
+import com.doctorwebsite.dto.AppointmentStatsDTO;
+import com.doctorwebsite.dto.CalendarDayDTO;
+import com.doctorwebsite.dto.CalendarDoctorDTO;
+import com.doctorwebsite.entity.Appointment;
+import com.doctorwebsite.entity.Appointment.AppointmentStatus;
+import com.doctorwebsite.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appointment counts for the admin calendar, aggregated by the database with one GROUP BY query.
+ * The current week — what the calendar opens on — is cached for a few seconds and dropped
+ * as soon as an appointment in that week changes.
+ */
+@Service
+@RequiredArgsConstructor
+public class AppointmentCalendarService implements AppointmentChangeListener {
+
+    private static final int STATUSES = AppointmentStatus.values().length;
+
+    private final AppointmentRepository appointmentRepository;
+
+    @Value("${app.calendar.max-days:92}")
+    private int maxDays;
+
+    @Value("${app.calendar.cache-ttl-ms:10000}")
+    private long cacheTtlMs;
+
+    private volatile CachedWeek cachedWeek;
+
+    /** Bumped on every change to the cached week; a query that raced a change is not cached */
+    private final AtomicLong weekChanges = new AtomicLong();
+
+    private record CachedWeek(LocalDate monday, AppointmentCalendarDTO calendar, long expiresAtNanos) {
+    }
+
+    // ==================== READ ====================
+
+    /**
+     * Counts for the days [from, to). Both default to the current week (Monday to Monday).
+     */
+    public AppointmentCalendarDTO getCalendar(LocalDate from, LocalDate to) {
+        LocalDate monday = currentMonday();
+        LocalDate start = from != null ? from : monday;
+        LocalDate end = to != null ? to : start.plusWeeks(1);
+        long days = ChronoUnit.DAYS.between(start, end);
+        if (days <= 0 || days > maxDays) {
+            throw new IllegalArgumentException("Calendar range must cover 1 to " + maxDays + " days.");
+        }
+
+        boolean currentWeek = start.equals(monday) && end.equals(monday.plusWeeks(1));
+        if (!currentWeek) {
+            return aggregate(start, end);
+        }
+
+        CachedWeek cached = cachedWeek;
+        if (cached != null && cached.monday().equals(monday) && System.nanoTime() - cached.expiresAtNanos() < 0) {
+            return cached.calendar();
+        }
+        long before = weekChanges.get();
+        AppointmentCalendarDTO calendar = aggregate(start, end);
+        if (weekChanges.get() == before) {
+            cachedWeek = new CachedWeek(monday, calendar,
+                    System.nanoTime() + cacheTtlMs * 1_000_000L);
+        }
+        return calendar;
+    }
+
+    private AppointmentCalendarDTO aggregate(LocalDate from, LocalDate to) {
+        int dayCount = (int) ChronoUnit.DAYS.between(from, to);
+        long[] totals = new long[STATUSES];
+        long[][] perDay = new long[dayCount][STATUSES];
+        long[][] perHour = new long[dayCount][24];
+        Map<Long, long[]> perDoctor = new HashMap<>();
+
+        for (AppointmentRepository.CalendarCell cell
+                : appointmentRepository.countCalendarCells(from.atStartOfDay(), to.atStartOfDay())) {
+            int day = (int) ChronoUnit.DAYS.between(from, cell.getDay());
+            int status = cell.getStatus().ordinal();
+            long total = cell.getTotal();
+            totals[status] += total;
+            perDay[day][status] += total;
+            perHour[day][cell.getHour()] += total;
+            perDoctor.computeIfAbsent(cell.getDoctorId(), id -> new long[STATUSES])[status] += total;
+        }
+
+        List<CalendarDayDTO> days = new ArrayList<>(dayCount);
+        for (int day = 0; day < dayCount; day++) {
+            days.add(new CalendarDayDTO(from.plusDays(day), counts(perDay[day]), perHour[day]));
+        }
+        List<CalendarDoctorDTO> doctors = new ArrayList<>(perDoctor.size());
+        perDoctor.forEach((doctorId, counts) -> doctors.add(new CalendarDoctorDTO(doctorId, counts(counts))));
+        doctors.sort(Comparator.comparing(CalendarDoctorDTO::getDoctorId,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+
+        return new AppointmentCalendarDTO(from, to, counts(totals), days, doctors);
+    }
+
+    private static AppointmentStatsDTO counts(long[] byStatus) {
+        long pending = byStatus[AppointmentStatus.PENDING.ordinal()];
+        long confirmed = byStatus[AppointmentStatus.CONFIRMED.ordinal()];
+        long cancelled = byStatus[AppointmentStatus.CANCELLED.ordinal()];
+        return new AppointmentStatsDTO(pending + confirmed + cancelled, pending, confirmed, cancelled);
+    }
+
+    private static LocalDate currentMonday() {
+        return LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    // ==================== INVALIDATION ====================
+
+    @Override
+    public void onBooked(Appointment appointment) {
+        changed(appointment);
+    }
+
+    @Override
+    public void onStatusChanged(Appointment appointment, AppointmentStatus oldStatus) {
+        changed(appointment);
+    }
+
+    @Override
+    public void onDeleted(Appointment appointment) {
+        changed(appointment);
+    }
+
+    private void changed(Appointment appointment) {
+        LocalDateTime at = appointment.getAppointmentDatetime();
+        LocalDate monday = currentMonday();
+        if (at != null && !at.toLocalDate().isBefore(monday) && at.toLocalDate().isBefore(monday.plusWeeks(1))) {
+            weekChanges.incrementAndGet();
+            cachedWeek = null;
+        }
+    }
+}
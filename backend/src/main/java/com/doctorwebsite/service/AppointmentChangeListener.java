@@ -0,0 +1,26 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.entity.Appointment;
+
+import java.util.List;
+
+/**
+ * Callback for in-process views that mirror the appointments table.
+ * AppointmentService invokes every listener bean after each successful write.
+ */
+public interface AppointmentChangeListener {
+
+    default void onBooked(Appointment appointment) {
+    }
+
+    default void onStatusChanged(Appointment appointment, Appointment.AppointmentStatus oldStatus) {
+    }
+
+    default void onDeleted(Appointment appointment) {
+    }
+
+    /** A committed chunk of a bulk import; override to apply the whole chunk at once */
+    default void onImported(List<Appointment> appointments) {
+        appointments.forEach(this::onBooked);
+    }
+}
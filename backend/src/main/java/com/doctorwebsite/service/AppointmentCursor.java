@@ -0,0 +1,55 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.dto.AppointmentSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for the admin appointment listing — the (createdAt, id)
+ * of the last row on a page, Base64url-encoded so clients treat it as a token.
+ */
+final class AppointmentCursor {
+
+    /** Sentinel that sorts after every real row, used for the first page */
+    static final AppointmentCursor START =
+            new AppointmentCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private final LocalDateTime createdAt;
+    private final long id;
+
+    private AppointmentCursor(LocalDateTime createdAt, long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    LocalDateTime createdAt() {
+        return createdAt;
+    }
+
+    long id() {
+        return id;
+    }
+
+    static String encode(AppointmentSummary last) {
+        String raw = last.createdAt() + "|" + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static AppointmentCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new AppointmentCursor(
+                    LocalDateTime.parse(raw.substring(0, sep)),
+                    Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.dto.AppointmentEventDTO;
+import com.doctorwebsite.dto.AppointmentSummary;
+import com.doctorwebsite.entity.Appointment;
+import com.doctorwebsite.exception.ServiceUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes appointment changes to connected admin dashboards as Server-Sent Events.
+ * <p>
+ * Publishing never blocks the writer: the event is serialized once and appended to each subscriber's
+ * bounded queue. A full queue drops its oldest event and the subscriber is sent a {@code resync} event,
+ * after which the client reloads instead of trusting its deltas. Each subscriber is drained by at most
+ * one virtual thread at a time, so a slow client only ever holds up itself, and an idle connection
+ * holds no thread at all (the response is in async mode between events).
+ * A heartbeat comment goes to idle subscribers so proxies keep the connection open and dead clients
+ * are noticed on the failed write.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentEventBroadcaster implements AppointmentChangeListener {
+
+    private final ObjectMapper objectMapper;
+    private final ChangeSequencer changeSequencer;
+
+    /** Events buffered per subscriber before the oldest is dropped */
+    @Value("${app.events.subscriber-buffer:256}")
+    private int bufferSize;
+
+    @Value("${app.events.max-subscribers:200}")
+    private int maxSubscribers;
+
+    /** How long one connection stays open; EventSource reconnects by itself afterwards (ms) */
+    @Value("${app.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** One SSE event; a null name marks a heartbeat comment */
+    private record Event(long id, String name, String data) {
+    }
+
+    private static final Event HEARTBEAT = new Event(0, null, null);
+
+    // ==================== SUBSCRIBE ====================
+
+    /**
+     * Register a new dashboard connection; the first event ({@code ready}) is sent right away and
+     * carries the change cursor from which this stream is complete, so a reconnecting client can
+     * fetch what it missed from GET /api/appointments/changes.
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException(
+                    "Too many live dashboard connections. Please try again shortly.", 30);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            // End the stream normally; the client reconnects
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> subscribers.remove(subscriber));
+        // Take the cursor after registering: any write not yet in it is also delivered as an event
+        subscribers.add(subscriber);
+        AppointmentEventDTO ready = new AppointmentEventDTO();
+        ready.setCursor(changeSequencer.stableHigh());
+        subscriber.offer(event("ready", ready));
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // ==================== PUBLISH ====================
+
+    @Override
+    public void onBooked(Appointment appointment) {
+        publish("booked", new AppointmentEventDTO(null, summary(appointment), null, null, null));
+    }
+
+    @Override
+    public void onStatusChanged(Appointment appointment, Appointment.AppointmentStatus oldStatus) {
+        publish("status", new AppointmentEventDTO(null, summary(appointment), oldStatus, null, null));
+    }
+
+    @Override
+    public void onDeleted(Appointment appointment) {
+        publish("deleted", new AppointmentEventDTO(appointment.getId(), null, appointment.getStatus(), null,
+                appointment.getChangeSeq()));
+    }
+
+    /** One event per imported chunk rather than per row; dashboards reload on it */
+    @Override
+    public void onImported(List<Appointment> appointments) {
+        publish("imported", new AppointmentEventDTO(null, null, null, appointments.size(), null));
+    }
+
+    /** Send a heartbeat to every subscriber with nothing queued */
+    @Scheduled(fixedRateString = "${app.events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(Subscriber::offerHeartbeat);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(s -> s.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private void publish(String name, AppointmentEventDTO data) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Event event = event(name, data);
+        subscribers.forEach(s -> s.offer(event));
+    }
+
+    private Event event(String name, AppointmentEventDTO data) {
+        try {
+            return new Event(sequence.incrementAndGet(), name, objectMapper.writeValueAsString(data));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + name + " event", e);
+        }
+    }
+
+    private static AppointmentSummary summary(Appointment a) {
+        return new AppointmentSummary(a.getId(), a.getDoctorId(), a.getPatientName(), a.getPhone(),
+                a.getPatientEmail(), a.getAppointmentDatetime(), a.getStatus(), a.getReason() != null,
+                a.getCreatedAt(), a.getVersion(), a.getChangeSeq());
+    }
+
+    // ==================== SUBSCRIBER ====================
+
+    /** One connection: a bounded drop-oldest queue and the flag that keeps it to a single sender */
+    private final class Subscriber {
+
+        final SseEmitter emitter;
+        private final ArrayDeque<Event> queue = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        /** Set when events were dropped; guarded by this */
+        private boolean overflowed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Event event) {
+            synchronized (this) {
+                if (queue.size() >= bufferSize) {
+                    queue.pollFirst();
+                    overflowed = true;
+                }
+                queue.addLast(event);
+            }
+            schedule();
+        }
+
+        void offerHeartbeat() {
+            synchronized (this) {
+                if (!queue.isEmpty()) {
+                    return;
+                }
+                queue.addLast(HEARTBEAT);
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RuntimeException e) {
+                    // Shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    Event next;
+                    boolean resync;
+                    synchronized (this) {
+                        next = queue.pollFirst();
+                        resync = overflowed;
+                        overflowed = false;
+                    }
+                    if (next == null) {
+                        break;
+                    }
+                    if (resync) {
+                        emitter.send(SseEmitter.event().name("resync").data("{}"));
+                    }
+                    if (next == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().id(Long.toString(next.id())).name(next.name()).data(next.data()));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away (or the emitter already completed); stop sending to it
+                log.debug("Dropping event subscriber: {}", e.getMessage());
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An offer that lost the race with the end of the loop above would otherwise wait for the next one
+            boolean pending;
+            synchronized (this) {
+                pending = !queue.isEmpty();
+            }
+            if (pending) {
+                schedule();
+            }
+        }
+    }
+}
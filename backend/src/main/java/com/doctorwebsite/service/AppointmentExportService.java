@@ -0,0 +1,243 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.dto.AppointmentFilter;
+import com.doctorwebsite.entity.Appointment;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams appointments to an output stream as CSV or NDJSON.
+ * Rows are read through a forward-only cursor, written, flushed in batches and detached one by one,
+ * so memory stays flat however many appointments there are.
+ * <p>
+ * The streaming is set on the export's own statement, not on the connection URL: on MySQL the fetch size is
+ * Integer.MIN_VALUE, which makes Connector/J hand rows over one at a time instead of buffering the whole
+ * result (it also raises net_write_timeout for that statement, so a slow client does not abort it);
+ * other databases get a fetch size of {@value #FETCH_SIZE}. Every other query keeps the driver defaults.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Rows fetched per round trip where the driver honours a positive fetch size */
+    private static final int FETCH_SIZE = 500;
+
+
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.export.flush-every-rows:1000}")
+    private int flushEveryRows;
+
+    /** How long one export response may stream */
+    @Value("${app.export.timeout-ms:600000}")
+    private long timeoutMs;
+
+    /** Export filters checked up front, before the response is committed */
+    public record Query(Appointment.AppointmentStatus status, LocalDateTime from, LocalDateTime to) {
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public Query query(AppointmentFilter filter) {
+        Appointment.AppointmentStatus status = filter.getStatus() == null || filter.getStatus().isBlank()
+                ? null
+                : AppointmentService.parseStatus(filter.getStatus());
+        return new Query(status, filter.getFrom(), filter.getTo());
+    }
+
+    /**
+     * Write every matching appointment to {@code out}, oldest id first.
+     * Runs in its own read-only transaction (the caller is the async response thread).
+     *
+     * @return number of rows written
+     */
+    public long export(Query query, DataFormat format, OutputStream out) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        long start = System.nanoTime();
+        Long rows = tx.execute(status -> {
+            try (Stream<Appointment> appointments = stream(query)) {
+                return format == DataFormat.CSV
+                        ? writeCsv(appointments.iterator(), out)
+                        : writeNdjson(appointments.iterator(), out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Exported {} appointments as {} in {} ms", rows, format, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    /**
+     * The matching rows, in id order, as a forward-only, read-only stream (Hibernate keeps no snapshots of them).
+     * Only the filters that are set go into the WHERE clause, as plain predicates the status and date
+     * indexes can serve. Must be consumed inside a transaction and closed.
+     */
+    private Stream<Appointment> stream(Query query) {
+        List<String> conditions = new ArrayList<>();
+        if (query.status() != null) {
+            conditions.add("a.status = :status");
+        }
+        if (query.from() != null) {
+            conditions.add("a.appointmentDatetime >= :from");
+        }
+        if (query.to() != null) {
+            conditions.add("a.appointmentDatetime < :to");
+        }
+        String jpql = "SELECT a FROM Appointment a"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY a.id";
+
+        TypedQuery<Appointment> typed = entityManager.createQuery(jpql, Appointment.class);
+        if (query.status() != null) {
+            typed.setParameter("status", query.status());
+        }
+        if (query.from() != null) {
+            typed.setParameter("from", query.from());
+        }
+        if (query.to() != null) {
+            typed.setParameter("to", query.to());
+        }
+        return typed
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamsRowByRow() ? Integer.MIN_VALUE : FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /** MySQL (Connector/J) streams a result only for fetch size Integer.MIN_VALUE; a positive one is ignored */
+    private boolean streamsRowByRow() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+    }
+
+    // ==================== CSV ====================
+
+    private static final String CSV_HEADER = "id,doctor_id,patient_name,phone,patient_email,appointment_datetime,"
+            + "status,reason,created_at,updated_at\r\n";
+
+    private long writeCsv(Iterator<Appointment> appointments, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        long rows = 0;
+        while (appointments.hasNext()) {
+            Appointment a = appointments.next();
+            writer.write(String.valueOf(a.getId()));
+            writer.write(',');
+            writer.write(a.getDoctorId() == null ? "" : a.getDoctorId().toString());
+            writer.write(',');
+            writeCsvText(writer, a.getPatientName());
+            writer.write(',');
+            writeCsvText(writer, a.getPhone());
+            writer.write(',');
+            writeCsvText(writer, a.getPatientEmail());
+            writer.write(',');
+            writer.write(String.valueOf(a.getAppointmentDatetime()));
+            writer.write(',');
+            writer.write(a.getStatus().name());
+            writer.write(',');
+            writeCsvText(writer, a.getReason());
+            writer.write(',');
+            writer.write(a.getCreatedAt() == null ? "" : a.getCreatedAt().toString());
+            writer.write(',');
+            writer.write(a.getUpdatedAt() == null ? "" : a.getUpdatedAt().toString());
+            writer.write("\r\n");
+            rows = written(a, rows, writer);
+        }
+        writer.flush();
+        return rows;
+    }
+
+    /**
+     * RFC 4180 quoting. Text that a spreadsheet would run as a formula (=, +, -, @) is prefixed
+     * with an apostrophe, except phone numbers such as +8801….
+     */
+    private static void writeCsvText(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        boolean formula = (first == '=' || first == '+' || first == '-' || first == '@')
+                && !value.chars().allMatch(c -> Character.isDigit(c) || c == '+' || c == '-' || c == ' ');
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // ==================== NDJSON ====================
+
+    private long writeNdjson(Iterator<Appointment> appointments, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        // Same JSON shape as GET /api/appointments, one object per line; flushing is left to written()
+        ObjectWriter rowWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        long rows = 0;
+        try (SequenceWriter json = rowWriter.writeValues(writer)) {
+            while (appointments.hasNext()) {
+                Appointment a = appointments.next();
+                json.write(a);
+                rows = written(a, rows, json);
+            }
+        }
+        if (rows > 0) {
+            writer.write('\n');
+        }
+        writer.flush();
+        return rows;
+    }
+
+    /** Detach the written row and push a batch to the client every flushEveryRows rows */
+    private long written(Appointment appointment, long rows, Flushable output) throws IOException {
+        entityManager.detach(appointment);
+        rows++;
+        if (rows % flushEveryRows == 0) {
+            output.flush();
+        }
+        return rows;
+    }
+}
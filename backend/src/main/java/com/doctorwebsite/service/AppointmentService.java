@@ -1,18 +1,34 @@
 package com.doctorwebsite.service;
 
+import com.doctorwebsite.dto.AppointmentChangesDTO;
 import com.doctorwebsite.dto.AppointmentDTO;
+import com.doctorwebsite.dto.AppointmentFilter;
+import com.doctorwebsite.dto.AppointmentStatsDTO;
+import com.doctorwebsite.dto.AppointmentSummary;
+import com.doctorwebsite.dto.CursorPage;
 import com.doctorwebsite.entity.Appointment;
+import com.doctorwebsite.entity.AppointmentTombstone;
 import com.doctorwebsite.exception.ResourceNotFoundException;
 import com.doctorwebsite.repository.AppointmentRepository;
+import com.doctorwebsite.repository.AppointmentTombstoneRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Service layer for appointment operations.
  * Contains all business logic for booking and managing appointments.
+ * The admin read methods may be served by the read replica (ReadReplicaRouter); writes and the
+ * change feed always use the primary.
  */
 @Service
 @RequiredArgsConstructor
@@ -20,10 +36,33 @@ import java.util.List;
 public class AppointmentService {
 
     private final AppointmentRepository appointmentRepository;
+    private final AppointmentStatsService statsService;
+    private final SlotAvailabilityService slotService;
+    private final BookingBatcher bookingBatcher;
+    private final ChangeSequencer changeSequencer;
+    private final AppointmentTombstoneRepository tombstoneRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ReadReplicaRouter replicaRouter;
+
+    /** In-process views kept in sync with every write (counters, slot calendars, ...) */
+    private final List<AppointmentChangeListener> changeListeners;
+
+    /** Page size used when the client does not ask for one */
+    @Value("${app.appointments.page.default-size:50}")
+    private int defaultPageSize;
+
+    /** Hard upper bound on a single listing page */
+    @Value("${app.appointments.page.max-size:200}")
+    private int maxPageSize;
+
+    /** Most changes returned by one /changes call */
+    @Value("${app.appointments.changes.max-size:1000}")
+    private int maxChanges;
 
     /**
      * Book a new appointment from the submitted DTO.
-     * Validates that the appointment date is in the future.
+     * Validates that the appointment date is in the future, within clinic hours
+     * and not overlapping another booking of the same doctor.
      */
     public Appointment bookAppointment(AppointmentDTO dto) {
         log.info("Booking appointment for patient: {}", dto.getPatientName());
@@ -33,7 +72,10 @@ public class AppointmentService {
             throw new IllegalArgumentException("Appointment date must be in the future.");
         }
 
+        Long doctorId = slotService.resolveDoctorId(dto.getDoctorId());
+
         Appointment appointment = new Appointment();
+        appointment.setDoctorId(doctorId);
         appointment.setPatientName(dto.getPatientName());
         appointment.setPhone(dto.getPhone());
         appointment.setPatientEmail(dto.getPatientEmail());
@@ -41,60 +83,203 @@ public class AppointmentService {
         appointment.setReason(dto.getReason());
         appointment.setStatus(Appointment.AppointmentStatus.PENDING);
 
-        Appointment saved = appointmentRepository.save(appointment);
+        // Check and insert under the slot's lock stripes so concurrent requests cannot double-book
+        Appointment saved = slotService.withSlotLock(doctorId, appointment.getAppointmentDatetime(), () -> {
+            slotService.checkAvailable(doctorId, appointment.getAppointmentDatetime(), null);
+            long seq = changeSequencer.reserve(1);
+            Appointment inserted;
+            try {
+                appointment.setChangeSeq(seq);
+                inserted = bookingBatcher.isEnabled()
+                        ? bookingBatcher.insert(appointment)
+                        : appointmentRepository.save(appointment);
+            } finally {
+                // Both paths return or throw only once the row has committed or rolled back, or (group commit)
+                // once it was taken off the queue unwritten, so seq cannot be released while it may still commit
+                changeSequencer.release(seq);
+            }
+            changeListeners.forEach(l -> l.onBooked(inserted));
+            return inserted;
+        });
         log.info("Appointment booked successfully with id: {}", saved.getId());
         return saved;
     }
 
     /**
-     * Get all appointments (admin use).
+     * List appointments newest first, one keyset page at a time (admin use).
+     * Filtering and ordering happen in the database; at most maxPageSize rows are loaded,
+     * as summaries without the reason text.
+     */
+    public CursorPage<AppointmentSummary> listAppointments(AppointmentFilter filter) {
+        int limit = defaultPageSize;
+        if (filter.getLimit() != null) {
+            limit = Math.max(1, Math.min(filter.getLimit(), maxPageSize));
+        }
+
+        Appointment.AppointmentStatus status = filter.getStatus() == null || filter.getStatus().isBlank()
+                ? null
+                : parseStatus(filter.getStatus());
+        String patientPattern = filter.getPatient() == null || filter.getPatient().isBlank()
+                ? null
+                : "%" + escapeLike(filter.getPatient().trim().toLowerCase()) + "%";
+        AppointmentCursor cursor = AppointmentCursor.decode(filter.getCursor());
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        int pageSize = limit + 1;
+        List<AppointmentSummary> rows = replicaRouter.read(ReadReplicaRouter.Scope.APPOINTMENTS, () ->
+                appointmentRepository.findPage(status, filter.getFrom(), filter.getTo(), patientPattern,
+                        cursor.createdAt(), cursor.id(), PageRequest.of(0, pageSize)));
+
+        boolean hasMore = rows.size() > limit;
+        List<AppointmentSummary> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? AppointmentCursor.encode(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    /**
+     * Appointment totals per status, served from in-process counters.
      */
-    public List<Appointment> getAllAppointments() {
-        return appointmentRepository.findAll();
+    public AppointmentStatsDTO getStats() {
+        return statsService.getStats();
     }
 
     /**
      * Get appointment by ID.
      */
     public Appointment getAppointmentById(Long id) {
-        return appointmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Appointment", id));
+        return replicaRouter.read(ReadReplicaRouter.Scope.APPOINTMENTS, () -> loadAppointment(id));
+    }
+
+    /**
+     * Strong ETag for an appointment, derived from its id and version alone.
+     */
+    public static String etag(Long id, long version) {
+        return "\"a" + id + "." + version + "\"";
     }
 
     /**
      * Update appointment status (admin action: CONFIRMED or CANCELLED).
      */
     public Appointment updateStatus(Long id, String statusStr) {
-        Appointment appointment = getAppointmentById(id);
-
-        Appointment.AppointmentStatus status;
-        try {
-            status = Appointment.AppointmentStatus.valueOf(statusStr.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid status. Use: PENDING, CONFIRMED, or CANCELLED");
-        }
+        Appointment appointment = loadAppointment(id);
+        Appointment.AppointmentStatus status = parseStatus(statusStr);
+        Appointment.AppointmentStatus oldStatus = appointment.getStatus();
 
-        appointment.setStatus(status);
+        Appointment saved = slotService.withSlotLock(appointment.getDoctorId(), appointment.getAppointmentDatetime(), () -> {
+            // Re-activating a cancelled appointment must not take a slot someone else booked since
+            if (!SlotAvailabilityService.occupiesSlot(oldStatus) && SlotAvailabilityService.occupiesSlot(status)) {
+                slotService.checkAvailable(appointment.getDoctorId(), appointment.getAppointmentDatetime(), id);
+            }
+            appointment.setStatus(status);
+            long seq = changeSequencer.reserve(1);
+            Appointment updated;
+            try {
+                appointment.setChangeSeq(seq);
+                updated = appointmentRepository.save(appointment);
+            } finally {
+                changeSequencer.release(seq);
+            }
+            changeListeners.forEach(l -> l.onStatusChanged(updated, oldStatus));
+            return updated;
+        });
         log.info("Updated appointment {} status to {}", id, status);
-        return appointmentRepository.save(appointment);
+        return saved;
     }
 
     /**
-     * Delete an appointment (admin use).
+     * Delete an appointment (admin use), leaving a tombstone in the change feed in the same transaction.
+     * The row is loaded first because the change listeners need its doctor, time and status.
+     * Of two concurrent deletes of the same appointment, the one that loses gets a 404.
      */
     public void deleteAppointment(Long id) {
-        if (!appointmentRepository.existsById(id)) {
+        Appointment appointment = loadAppointment(id);
+        long seq;
+        try {
+            seq = new TransactionTemplate(transactionManager).execute(status -> {
+                long changeSeq = changeSequencer.reserveInTransaction(1);
+                tombstoneRepository.insert(id, changeSeq, LocalDateTime.now());
+                if (appointmentRepository.deleteDirectlyById(id) == 0) {
+                    throw new ResourceNotFoundException("Appointment", id);
+                }
+                return changeSeq;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // The tombstone's key is the appointment id: a concurrent delete already wrote it
             throw new ResourceNotFoundException("Appointment", id);
         }
-        appointmentRepository.deleteById(id);
+        appointment.setChangeSeq(seq);
+        changeListeners.forEach(l -> l.onDeleted(appointment));
         log.info("Deleted appointment with id: {}", id);
     }
 
+    /**
+     * Appointments written or deleted after the change cursor {@code since} (0 for everything),
+     * oldest change first. Never reads past {@link ChangeSequencer#stableHigh()}, so a write that
+     * commits late cannot slip in behind a cursor that was already handed out. Always reads the primary:
+     * stableHigh() counts commits there, and a lagging replica would let the cursor skip changes.
+     */
+    public AppointmentChangesDTO getChanges(Long since, Integer limit) {
+        long from = since == null ? 0 : since;
+        if (from < 0) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        int size = limit == null ? maxChanges : Math.max(1, Math.min(limit, maxChanges));
+        long upTo = changeSequencer.stableHigh();
+        if (from >= upTo) {
+            return new AppointmentChangesDTO(List.of(), List.of(), from, false);
+        }
+
+        // One extra row from each side tells whether more changes follow
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<AppointmentSummary> written = appointmentRepository.findChangedBetween(from, upTo, page);
+        List<AppointmentTombstone> tombstones = tombstoneRepository.findChangedBetween(from, upTo, page);
+
+        // Merge both lists by change_seq and keep the oldest `size` changes
+        List<AppointmentSummary> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        long last = from;
+        int w = 0;
+        int t = 0;
+        while (changed.size() + deleted.size() < size && (w < written.size() || t < tombstones.size())) {
+            if (t >= tombstones.size()
+                    || (w < written.size() && written.get(w).changeSeq() < tombstones.get(t).getChangeSeq())) {
+                AppointmentSummary row = written.get(w++);
+                changed.add(row);
+                last = row.changeSeq();
+            } else {
+                AppointmentTombstone tombstone = tombstones.get(t++);
+                deleted.add(tombstone.getAppointmentId());
+                last = tombstone.getChangeSeq();
+            }
+        }
+        boolean hasMore = w < written.size() || t < tombstones.size();
+        return new AppointmentChangesDTO(changed, deleted, hasMore ? last : upTo, hasMore);
+    }
+
     /**
      * Find appointments by status.
      */
     public List<Appointment> getByStatus(String statusStr) {
-        Appointment.AppointmentStatus status = Appointment.AppointmentStatus.valueOf(statusStr.toUpperCase());
-        return appointmentRepository.findByStatus(status);
+        Appointment.AppointmentStatus status = parseStatus(statusStr);
+        return replicaRouter.read(ReadReplicaRouter.Scope.APPOINTMENTS, () -> appointmentRepository.findByStatus(status));
+    }
+
+    /** Load by id from the primary; writes call this directly so they always update the current row */
+    private Appointment loadAppointment(Long id) {
+        return appointmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Appointment", id));
+    }
+
+    static Appointment.AppointmentStatus parseStatus(String statusStr) {
+        try {
+            return Appointment.AppointmentStatus.valueOf(statusStr.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status. Use: PENDING, CONFIRMED, or CANCELLED");
+        }
+    }
+
+    /** Escape LIKE wildcards so user input is matched literally */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 }
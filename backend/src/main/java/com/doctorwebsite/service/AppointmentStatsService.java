@@ -0,0 +1,115 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.dto.AppointmentStatsDTO;
+import com.doctorwebsite.entity.Appointment;
+import com.doctorwebsite.entity.Appointment.AppointmentStatus;
+import com.doctorwebsite.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process appointment counters per status.
+ * Updated after every write through {@link AppointmentChangeListener} so reading the totals is O(1);
+ * reconciled against a GROUP BY query at startup and periodically to correct any drift
+ * (writes made outside this process, or a counter update racing a reconcile).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentStatsService implements AppointmentChangeListener {
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final Map<AppointmentStatus, LongAdder> counters = createCounters();
+
+    /** Bumped on every counter update; lets reconcile detect writes that raced its query */
+    private final AtomicLong mutations = new AtomicLong();
+
+    private static Map<AppointmentStatus, LongAdder> createCounters() {
+        Map<AppointmentStatus, LongAdder> map = new EnumMap<>(AppointmentStatus.class);
+        for (AppointmentStatus status : AppointmentStatus.values()) {
+            map.put(status, new LongAdder());
+        }
+        return map;
+    }
+
+    // ==================== UPDATES ====================
+
+    @Override
+    public void onBooked(Appointment appointment) {
+        counters.get(appointment.getStatus()).increment();
+        mutations.incrementAndGet();
+    }
+
+    @Override
+    public void onStatusChanged(Appointment appointment, AppointmentStatus oldStatus) {
+        if (oldStatus == appointment.getStatus()) {
+            return;
+        }
+        counters.get(oldStatus).decrement();
+        counters.get(appointment.getStatus()).increment();
+        mutations.incrementAndGet();
+    }
+
+    @Override
+    public void onDeleted(Appointment appointment) {
+        counters.get(appointment.getStatus()).decrement();
+        mutations.incrementAndGet();
+    }
+
+    // ==================== READ ====================
+
+    /**
+     * Current totals — no database access.
+     */
+    public AppointmentStatsDTO getStats() {
+        long pending = counters.get(AppointmentStatus.PENDING).sum();
+        long confirmed = counters.get(AppointmentStatus.CONFIRMED).sum();
+        long cancelled = counters.get(AppointmentStatus.CANCELLED).sum();
+        return new AppointmentStatsDTO(pending + confirmed + cancelled, pending, confirmed, cancelled);
+    }
+
+    // ==================== RECONCILE ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    /**
+     * Reset the counters to the database totals.
+     * Skipped when a counter update lands while the query is running; the next run catches up.
+     */
+    @Scheduled(initialDelayString = "${app.appointments.stats.reconcile-interval-ms:300000}",
+            fixedDelayString = "${app.appointments.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long before = mutations.get();
+
+        Map<AppointmentStatus, Long> actual = new EnumMap<>(AppointmentStatus.class);
+        for (AppointmentRepository.StatusCount row : appointmentRepository.countGroupedByStatus()) {
+            actual.put(row.getStatus(), row.getTotal());
+        }
+
+        if (mutations.get() != before) {
+            log.debug("Skipped appointment counter reconcile: concurrent writes");
+            return;
+        }
+        for (AppointmentStatus status : AppointmentStatus.values()) {
+            LongAdder adder = counters.get(status);
+            long drift = actual.getOrDefault(status, 0L) - adder.sum();
+            if (drift != 0) {
+                adder.add(drift);
+                log.info("Reconciled {} appointment counter by {}", status, drift);
+            }
+        }
+    }
+}
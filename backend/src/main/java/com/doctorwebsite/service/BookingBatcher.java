@@ -0,0 +1,191 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.entity.Appointment;
+import com.doctorwebsite.repository.AppointmentBatchWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Optional group-commit pipeline for new bookings.
+ * <p>
+ * Concurrent {@link #insert} calls are queued; a single flusher thread takes up to
+ * {@code max-batch-size} of them, waiting at most {@code max-linger-ms} for the batch to fill,
+ * writes them with one JDBC batch in one transaction and hands each caller its own generated id.
+ * Under load this turns N commit round trips into one; when idle, a booking waits at most the linger time.
+ * If the batch fails, each booking in it is retried in a transaction of its own, so one bad row only
+ * fails its own caller. Enabled with app.booking.group-commit.enabled=true.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingBatcher {
+
+    private final AppointmentBatchWriter batchWriter;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.booking.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.booking.group-commit.max-batch-size:64}")
+    private int maxBatchSize;
+
+    @Value("${app.booking.group-commit.max-linger-ms:2}")
+    private long maxLingerMillis;
+
+    /** How long a booking may wait in the queue before its caller gives up on it */
+    private static final long QUEUE_TIMEOUT_SECONDS = 30;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private TransactionTemplate transactionTemplate;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private record Pending(Appointment appointment, CompletableFuture<Appointment> result) {
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        flusher = new Thread(this::runFlusher, "booking-group-commit");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Booking group commit enabled (max batch {}, max linger {} ms)", maxBatchSize, maxLingerMillis);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue the appointment for the next group commit and wait until it is durable.
+     * Only a booking still in the queue can time out, and it is withdrawn first; once the flusher has
+     * taken it, the caller waits for the batch's real outcome, so a timed-out booking is never committed.
+     *
+     * @return the same appointment with its generated id
+     */
+    public Appointment insert(Appointment appointment) {
+        if (!running) {
+            throw new IllegalStateException("Booking group commit is not running");
+        }
+        Pending pending = new Pending(appointment, new CompletableFuture<>());
+        queue.add(pending);
+        try {
+            // Bounded wait: a booking queued just as the flusher stops must not hang its request
+            return pending.result().get(QUEUE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (queue.remove(pending)) {
+                throw new IllegalStateException(
+                        "Booking group commit did not take the booking in time; nothing was written", e);
+            }
+            try {
+                return pending.result().join();
+            } catch (CompletionException inBatch) {
+                throw unwrap(inBatch.getCause());
+            }
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+
+    private void runFlusher() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // stop() interrupts a waiting poll; anything already collected is still flushed
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /** Block for the first booking, then gather more until the batch is full or the linger time is up */
+    private void collect(List<Pending> batch) throws InterruptedException {
+        Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxLingerMillis);
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.error("Group commit of 1 booking failed", e);
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            // The driver does not say which row failed the batch; give every booking its own transaction
+            log.warn("Group commit of {} bookings failed; retrying them one by one", batch.size(), e);
+            for (Pending pending : batch) {
+                try {
+                    write(List.of(pending));
+                } catch (RuntimeException rowError) {
+                    log.error("Booking failed on its own after a failed group commit", rowError);
+                    pending.result().completeExceptionally(rowError);
+                }
+            }
+        }
+    }
+
+    /** Insert the bookings in one transaction and hand each caller its row once it has committed */
+    private void write(List<Pending> pendings) {
+        List<Appointment> appointments = pendings.stream().map(Pending::appointment).toList();
+        transactionTemplate.executeWithoutResult(status -> batchWriter.insertAll(appointments));
+        pendings.forEach(p -> p.result().complete(p.appointment()));
+    }
+}
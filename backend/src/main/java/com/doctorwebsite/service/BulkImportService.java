@@ -0,0 +1,547 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.dto.ImportErrorDTO;
+import com.doctorwebsite.dto.ImportReportDTO;
+import com.doctorwebsite.entity.Appointment;
+import com.doctorwebsite.entity.MedicalService;
+import com.doctorwebsite.exception.ConflictException;
+import com.doctorwebsite.repository.AppointmentBatchWriter;
+import com.doctorwebsite.repository.DoctorRepository;
+import com.doctorwebsite.repository.ServiceBatchWriter;
+import com.doctorwebsite.service.CatalogCache.Catalog;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.TraversableResolver;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.annotation.ElementType;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bulk import of appointments and medical services from CSV or NDJSON.
+ * <p>
+ * The input is read in chunks of app.import.chunk-size records. Each chunk is parsed and validated
+ * in parallel, then written with one JDBC batch in its own transaction on a single writer thread,
+ * while the next chunk is already being validated. A bad record is reported with its line number
+ * and skipped; it never aborts the load. If the database rejects a batch, that chunk is retried
+ * row by row to find the offending lines. Chunks already committed stay if the load fails midway.
+ * <p>
+ * CSV files need a header row; column names are those of the appointment export, so an export
+ * can be imported again. Committed appointment chunks are passed to every
+ * {@link AppointmentChangeListener} so counters, slot calendars and the search index stay current.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkImportService {
+
+    private static final int MAX_TEXT = 255;
+    private static final int MAX_REASON = 5000;
+
+    private final AppointmentBatchWriter appointmentWriter;
+    private final ServiceBatchWriter serviceWriter;
+    private final DoctorRepository doctorRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final ValidatorFactory validatorFactory;
+    private final List<AppointmentChangeListener> changeListeners;
+    private final CatalogCache catalogCache;
+    private final ChangeSequencer changeSequencer;
+    private final ReadReplicaRouter replicaRouter;
+
+    @Value("${app.import.chunk-size:5000}")
+    private int chunkSize;
+
+    /** Validation threads; 0 means one per CPU */
+    @Value("${app.import.parallelism:0}")
+    private int parallelism;
+
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /** Bean validation for parsed records; see {@link #init()} */
+    private Validator validator;
+
+    /**
+     * Imported records are new objects no persistence context has seen, so the validator need not ask JPA
+     * whether each property is loaded: the default JPA-aware resolver did that for every property
+     * of every record, a noticeable share of validation time.
+     */
+    @PostConstruct
+    void init() {
+        validator = validatorFactory.usingContext().traversableResolver(new TraversableResolver() {
+            @Override
+            public boolean isReachable(Object bean, Path.Node property, Class<?> rootBeanType, Path path,
+                                       ElementType elementType) {
+                return true;
+            }
+
+            @Override
+            public boolean isCascadable(Object bean, Path.Node property, Class<?> rootBeanType, Path path,
+                                        ElementType elementType) {
+                return true;
+            }
+        }).getValidator();
+    }
+
+    // ==================== ENTRY POINTS ====================
+
+    /**
+     * Import appointments. Records without doctor_id go to the clinic's primary doctor;
+     * status defaults to PENDING and created_at to now.
+     */
+    public ImportReportDTO importAppointments(Reader input, DataFormat format) {
+        List<Long> doctorIds = doctorRepository.findAllIds();
+        return run(new AppointmentTarget(new HashSet<>(doctorIds), doctorIds.isEmpty() ? null : doctorIds.get(0)),
+                input, format);
+    }
+
+    /**
+     * Import medical services. Names must be unique, also against services already in the database.
+     * Catalog reads stay on the primary until the replica has the new rows, as after any catalog write.
+     */
+    public ImportReportDTO importServices(Reader input, DataFormat format) {
+        try {
+            return run(new ServiceTarget(), input, format);
+        } finally {
+            replicaRouter.recordWrite(ReadReplicaRouter.Scope.CATALOG);
+            catalogCache.invalidate(Catalog.SERVICES);
+        }
+    }
+
+    // ==================== PIPELINE ====================
+
+    /** How one kind of record is parsed, checked and written */
+    private interface Target<T> {
+
+        String kind();
+
+        /** Parse one CSV record; throws IllegalArgumentException with a message for the report */
+        T fromCsv(CsvRow row);
+
+        T fromJson(String json) throws JsonProcessingException;
+
+        /** Problem with a parsed record, or null when it can be written */
+        String check(T record);
+
+        /** Insert the records; runs inside a transaction */
+        void insert(List<T> records);
+
+        /** Called on the writer thread after the records are committed */
+        void committed(List<T> records);
+    }
+
+    /** One input record before parsing: a CSV row or an NDJSON line */
+    private record RawRecord(long line, CsvRow csv, String json) {
+    }
+
+    /** One record after parsing and validation: the record, or why it was rejected */
+    private record Parsed<T>(long line, T record, String error) {
+    }
+
+    private <T> ImportReportDTO run(Target<T> target, Reader input, DataFormat format) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("Another import is already running.");
+        }
+        long start = System.nanoTime();
+        Report report = new Report(maxReportedErrors);
+        // close() waits for the pools, so a failed import is fully stopped before the next may start
+        try (ForkJoinPool validators = new ForkJoinPool(parallelism > 0 ? parallelism
+                : Runtime.getRuntime().availableProcessors());
+             ExecutorService writer = Executors.newSingleThreadExecutor(r -> new Thread(r, "bulk-import-writer"))) {
+            RecordSource source = format == DataFormat.CSV ? new CsvSource(input) : new NdjsonSource(input);
+            Future<?> previousWrite = CompletableFuture.completedFuture(null);
+            List<RawRecord> chunk;
+            while (!(chunk = source.next(chunkSize)).isEmpty()) {
+                List<RawRecord> raw = chunk;
+                List<Parsed<T>> parsed = validators.submit(() -> raw.parallelStream()
+                        .map(r -> parse(target, r))
+                        .toList()).get();
+                // At most one chunk is written while the next one is read and validated
+                previousWrite.get();
+                previousWrite = writer.submit(() -> write(target, parsed, report));
+            }
+            previousWrite.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Import failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            running.set(false);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long rowsPerSecond = seconds > 0 ? Math.round(report.imported / seconds) : report.imported;
+        log.info("Imported {} of {} {} records in {} s ({} rows/s, {} rejected)", report.imported, report.records,
+                target.kind(), String.format(Locale.ROOT, "%.2f", seconds), rowsPerSecond, report.failed);
+        return new ImportReportDTO(target.kind(), format.extension(), report.records, report.imported,
+                report.failed, seconds, rowsPerSecond, report.errors, report.failed > report.errors.size());
+    }
+
+    private <T> Parsed<T> parse(Target<T> target, RawRecord raw) {
+        try {
+            T record = raw.json() != null ? target.fromJson(raw.json()) : target.fromCsv(raw.csv());
+            String error = target.check(record);
+            return new Parsed<>(raw.line(), error == null ? record : null, error);
+        } catch (JsonProcessingException e) {
+            return new Parsed<>(raw.line(), null, "Invalid JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return new Parsed<>(raw.line(), null, e.getMessage());
+        }
+    }
+
+    /** Runs on the writer thread only */
+    private <T> void write(Target<T> target, List<Parsed<T>> parsed, Report report) {
+        List<T> valid = new ArrayList<>(parsed.size());
+        List<Long> lines = new ArrayList<>(parsed.size());
+        for (Parsed<T> p : parsed) {
+            report.records++;
+            if (p.error() != null) {
+                report.fail(p.line(), p.error());
+            } else {
+                valid.add(p.record());
+                lines.add(p.line());
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            tx.executeWithoutResult(status -> target.insert(valid));
+            report.imported += valid.size();
+            target.committed(valid);
+        } catch (DataAccessException batchError) {
+            // The driver does not say which row failed the batch; find out one row at a time
+            List<T> written = new ArrayList<>();
+            for (int i = 0; i < valid.size(); i++) {
+                T record = valid.get(i);
+                try {
+                    tx.executeWithoutResult(status -> target.insert(List.of(record)));
+                    written.add(record);
+                } catch (DataAccessException rowError) {
+                    report.fail(lines.get(i), NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+            report.imported += written.size();
+            target.committed(written);
+        }
+    }
+
+    /** Counts and the first errors; only touched by the writer thread until the import finishes */
+    private static final class Report {
+        private final int maxErrors;
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private long records;
+        private long imported;
+        private long failed;
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportErrorDTO(line, message));
+            }
+        }
+    }
+
+    // ==================== INPUT ====================
+
+    private interface RecordSource {
+        /** Up to max records; empty at end of input */
+        List<RawRecord> next(int max) throws IOException;
+    }
+
+    private static final class NdjsonSource implements RecordSource {
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonSource(Reader input) {
+            this.reader = new BufferedReader(input, 64 * 1024);
+        }
+
+        @Override
+        public List<RawRecord> next(int max) throws IOException {
+            List<RawRecord> records = new ArrayList<>(max);
+            String text;
+            while (records.size() < max && (text = reader.readLine()) != null) {
+                line++;
+                if (!text.isBlank()) {
+                    records.add(new RawRecord(line, null, text));
+                }
+            }
+            return records;
+        }
+    }
+
+    private static final class CsvSource implements RecordSource {
+        private final CsvRecordReader reader;
+        private final Map<String, Integer> header = new HashMap<>();
+
+        CsvSource(Reader input) throws IOException {
+            this.reader = new CsvRecordReader(input);
+            String[] names = reader.next();
+            if (names == null) {
+                throw new IllegalArgumentException("CSV input is empty; a header row is required.");
+            }
+            for (int i = 0; i < names.length; i++) {
+                header.put(names[i].trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+
+        @Override
+        public List<RawRecord> next(int max) throws IOException {
+            List<RawRecord> records = new ArrayList<>(max);
+            String[] fields;
+            while (records.size() < max && (fields = reader.next()) != null) {
+                records.add(new RawRecord(reader.recordLine(), new CsvRow(header, fields), null));
+            }
+            return records;
+        }
+    }
+
+    /** One CSV record addressed by header name */
+    private record CsvRow(Map<String, Integer> header, String[] fields) {
+
+        /** Trimmed value, or null when the column is missing or empty */
+        String get(String column) {
+            Integer i = header.get(column);
+            if (i == null || i >= fields.length) {
+                return null;
+            }
+            String value = fields[i].trim();
+            if (value.isEmpty()) {
+                return null;
+            }
+            // Undo the export's guard against spreadsheet formulas ('=..., '+..., '-..., '@...)
+            if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0) {
+                return value.substring(1);
+            }
+            return value;
+        }
+
+        String require(String column) {
+            String value = get(column);
+            if (value == null) {
+                throw new IllegalArgumentException(column + " is required");
+            }
+            return value;
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        // Accept "2026-03-10 10:00" as well as ISO "2026-03-10T10:00"
+        return LocalDateTime.parse(value.length() > 10 && value.charAt(10) == ' '
+                ? value.substring(0, 10) + 'T' + value.substring(11)
+                : value);
+    }
+
+    private static Long parseLong(String column, String value) {
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    private <T> String violations(T record) {
+        Set<ConstraintViolation<T>> violations = validator.validate(record);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted()
+                .reduce((a, b) -> a + "; " + b).orElse(null);
+    }
+
+    private static String tooLong(String column, String value, int max) {
+        return value != null && value.length() > max ? column + " is longer than " + max + " characters" : null;
+    }
+
+    // ==================== APPOINTMENTS ====================
+
+    private final class AppointmentTarget implements Target<Appointment> {
+
+        private final Set<Long> doctorIds;
+        private final Long defaultDoctorId;
+        private final ObjectReader json = objectMapper.readerFor(Appointment.class);
+        private final LocalDateTime importedAt = LocalDateTime.now();
+
+        AppointmentTarget(Set<Long> doctorIds, Long defaultDoctorId) {
+            this.doctorIds = doctorIds;
+            this.defaultDoctorId = defaultDoctorId;
+        }
+
+        @Override
+        public String kind() {
+            return "appointments";
+        }
+
+        @Override
+        public Appointment fromCsv(CsvRow row) {
+            Appointment a = new Appointment();
+            a.setDoctorId(parseLong("doctor_id", row.get("doctor_id")));
+            a.setPatientName(row.get("patient_name"));
+            a.setPhone(row.get("phone"));
+            a.setPatientEmail(row.get("patient_email"));
+            a.setAppointmentDatetime(parseDateTime(row.require("appointment_datetime")));
+            a.setReason(row.get("reason"));
+            String status = row.get("status");
+            if (status != null) {
+                a.setStatus(AppointmentService.parseStatus(status));
+            }
+            String createdAt = row.get("created_at");
+            if (createdAt != null) {
+                a.setCreatedAt(parseDateTime(createdAt));
+            }
+            return a;
+        }
+
+        @Override
+        public Appointment fromJson(String line) throws JsonProcessingException {
+            Appointment a = json.readValue(line);
+            // Server-assigned fields of an exported row are not imported
+            a.setId(null);
+            a.setVersion(0);
+            a.setUpdatedAt(null);
+            if (a.getStatus() == null) {
+                a.setStatus(Appointment.AppointmentStatus.PENDING);
+            }
+            return a;
+        }
+
+        @Override
+        public String check(Appointment a) {
+            if (a.getDoctorId() == null) {
+                a.setDoctorId(defaultDoctorId);
+            } else if (!doctorIds.contains(a.getDoctorId())) {
+                return "Unknown doctor_id " + a.getDoctorId();
+            }
+            if (a.getCreatedAt() == null) {
+                a.setCreatedAt(importedAt);
+            }
+            String error = violations(a);
+            if (error == null) {
+                error = tooLong("patient_name", a.getPatientName(), MAX_TEXT);
+            }
+            if (error == null) {
+                error = tooLong("patient_email", a.getPatientEmail(), MAX_TEXT);
+            }
+            if (error == null) {
+                error = tooLong("reason", a.getReason(), MAX_REASON);
+            }
+            return error;
+        }
+
+        /** Runs in the chunk's transaction; the change numbers are released when it completes */
+        @Override
+        public void insert(List<Appointment> records) {
+            long first = changeSequencer.reserveInTransaction(records.size());
+            for (int i = 0; i < records.size(); i++) {
+                records.get(i).setChangeSeq(first + i);
+            }
+            appointmentWriter.insertAll(records);
+        }
+
+        @Override
+        public void committed(List<Appointment> records) {
+            changeListeners.forEach(l -> l.onImported(records));
+        }
+    }
+
+    // ==================== SERVICES ====================
+
+    private final class ServiceTarget implements Target<MedicalService> {
+
+        private final ObjectReader json = objectMapper.readerFor(MedicalService.class);
+
+        @Override
+        public String kind() {
+            return "services";
+        }
+
+        @Override
+        public MedicalService fromCsv(CsvRow row) {
+            MedicalService s = new MedicalService();
+            s.setName(row.get("name"));
+            s.setDescription(row.get("description"));
+            s.setIconClass(row.get("icon_class"));
+            Long order = parseLong("display_order", row.get("display_order"));
+            s.setDisplayOrder(order == null ? 0 : order.intValue());
+            String active = row.get("active");
+            s.setActive(active == null || Boolean.parseBoolean(active));
+            return s;
+        }
+
+        @Override
+        public MedicalService fromJson(String line) throws JsonProcessingException {
+            MedicalService s = json.readValue(line);
+            s.setId(null);
+            return s;
+        }
+
+        @Override
+        public String check(MedicalService s) {
+            String error = violations(s);
+            if (error == null) {
+                error = tooLong("name", s.getName(), MAX_TEXT);
+            }
+            if (error == null) {
+                error = tooLong("icon_class", s.getIconClass(), MAX_TEXT);
+            }
+            return error;
+        }
+
+        @Override
+        public void insert(List<MedicalService> records) {
+            serviceWriter.insertAll(records);
+        }
+
+        @Override
+        public void committed(List<MedicalService> records) {
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.doctorwebsite.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Versioned read-through cache for the public catalogs (doctors, services).
+ * Stores the final serialized ApiResponse bytes, so a hit costs no database access,
+ * no entity-to-DTO mapping and no JSON serialization.
+ * <p>
+ * Each catalog has a version number that writers bump through {@link #invalidate(Catalog)}.
+ * An entry is only served while its version matches the current one; a load that races an
+ * invalidation may be stored, but is never served because its version is already stale.
+ * The strong ETag (hash of the body) and Last-Modified (time of the version bump) are computed
+ * once per entry, so conditional GETs are answered from the entry alone.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogCache {
+
+    public enum Catalog {
+        DOCTORS, SERVICES
+    }
+
+    /** A cached response body, the catalog version it was built from and its validators */
+    public record Entry(long version, byte[] body, String etag, Instant lastModified) {
+    }
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Catalog, AtomicLong> versions = perCatalog(() -> new AtomicLong(1));
+    private final Map<Catalog, Map<String, Entry>> entries = perCatalog(ConcurrentHashMap::new);
+
+    /** When each catalog last changed; second precision, as HTTP dates are */
+    private final Map<Catalog, AtomicReference<Instant>> modifiedAt =
+            perCatalog(() -> new AtomicReference<>(Instant.now().truncatedTo(ChronoUnit.SECONDS)));
+
+    private static <V> Map<Catalog, V> perCatalog(Supplier<V> factory) {
+        Map<Catalog, V> map = new EnumMap<>(Catalog.class);
+        for (Catalog catalog : Catalog.values()) {
+            map.put(catalog, factory.get());
+        }
+        return map;
+    }
+
+    /**
+     * Cached response for the key, building and serializing it with {@code loader} on a miss.
+     * Exceptions from the loader (e.g. not found) propagate and nothing is cached.
+     */
+    public Entry get(Catalog catalog, String key, Supplier<?> loader) {
+        long version = versions.get(catalog).get();
+        Entry entry = entries.get(catalog).get(key);
+        if (entry != null && entry.version() == version) {
+            return entry;
+        }
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(loader.get());
+            Entry fresh = new Entry(version, body, etag(body), modifiedAt.get(catalog).get());
+            entries.get(catalog).put(key, fresh);
+            return fresh;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + catalog + " response", e);
+        }
+    }
+
+    /** Drop every cached response of the catalog; call after any write to it */
+    public void invalidate(Catalog catalog) {
+        modifiedAt.get(catalog).set(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        versions.get(catalog).incrementAndGet();
+        entries.get(catalog).clear();
+    }
+
+    public long version(Catalog catalog) {
+        return versions.get(catalog).get();
+    }
+
+    /** Strong validator derived from the bytes, so every instance computes the same ETag */
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
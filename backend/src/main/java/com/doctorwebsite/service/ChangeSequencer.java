@@ -0,0 +1,110 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.repository.AppointmentRepository;
+import com.doctorwebsite.repository.AppointmentTombstoneRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out the change sequence numbers stamped on every appointment write (appointments.change_seq,
+ * appointment_tombstones.change_seq) and knows how far the change feed may safely be read.
+ * <p>
+ * Numbers are taken before a write and committed in whatever order the transactions finish, so a reader
+ * that saw seq 11 committed could still miss seq 10 if it commits later. Every reservation therefore stays
+ * in flight until its transaction has completed, and {@link #stableHigh()} — the cursor the feed never
+ * reads past — stops just below the oldest one still in flight.
+ * <p>
+ * Numbers are allocated in this JVM, starting after the highest one in the database; like the slot
+ * engine, this assumes a single application instance per database.
+ * <p>
+ * Bookings reserve while holding their slot stripes, so the state is guarded by a ReentrantLock rather
+ * than synchronized, for the same reason as in {@link SlotLockStripes}: a virtual thread that blocks on a
+ * monitor pins its carrier.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeSequencer {
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentTombstoneRepository tombstoneRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Last number handed out; guarded by lock */
+    private long last;
+
+    /** First number of every reservation whose write has not completed yet; guarded by lock */
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    @PostConstruct
+    public void init() {
+        long highest = Math.max(appointmentRepository.findMaxChangeSeq(), tombstoneRepository.findMaxChangeSeq());
+        lock.lock();
+        try {
+            last = Math.max(last, highest);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserve {@code count} consecutive numbers and return the first.
+     * The caller must {@link #release} it once the write has committed or failed.
+     */
+    public long reserve(int count) {
+        lock.lock();
+        try {
+            long first = last + 1;
+            last += count;
+            inFlight.add(first);
+            return first;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long first) {
+        lock.lock();
+        try {
+            inFlight.remove(first);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserve {@code count} numbers for writes in the current transaction; they are released
+     * automatically when it commits or rolls back.
+     */
+    public long reserveInTransaction(int count) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("reserveInTransaction needs an active transaction");
+        }
+        long first = reserve(count);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(first);
+            }
+        });
+        return first;
+    }
+
+    /**
+     * Highest number below which every write has completed: changes up to here are final.
+     */
+    public long stableHigh() {
+        lock.lock();
+        try {
+            return inFlight.isEmpty() ? last : inFlight.first() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.dto.ContactMessageDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, memory-mapped journal for contact form submissions.
+ * <p>
+ * Request threads encode a submission into a compact binary record and hand it to the single writer
+ * thread, which copies it into the mapped segment and returns. Once {@link #append} returns, the record
+ * lives in the OS page cache and survives a crash of the JVM; the writer forces dirty pages to disk at
+ * most every {@code sync-interval-ms}, so an OS crash can lose at most that window.
+ * {@link ContactJournalDrainer} later bulk-loads records into the contact_messages table.
+ * <p>
+ * Segment files are named after a strictly increasing, time-based id and hold records of the form
+ * {@code [int length][int crc32c][payload]}. The length is written last, so a torn write reads as
+ * length 0 and marks the end of the segment.
+ * The journal is per instance: run one instance per database, or give each its own directory and table.
+ */
+@Component
+@Slf4j
+public class ContactJournal {
+
+    private static final int HEADER_BYTES = 8;
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".log";
+
+    @Value("${app.contact.journal.dir:data/contact-journal}")
+    private String directory;
+
+    @Value("${app.contact.journal.segment-size-bytes:4194304}")
+    private int segmentSize;
+
+    @Value("${app.contact.journal.sync-interval-ms:50}")
+    private long syncIntervalMillis;
+
+    /** One decoded journal record and where it lives */
+    public record JournalRecord(long segment, int offset, LocalDateTime submittedAt,
+                                String name, String email, String phone, String message) {
+    }
+
+    /** A mapped segment; only the writer thread mutates it */
+    private static final class Segment {
+        final long id;
+        final MappedByteBuffer buffer;
+        /** End of the last complete record; published to readers */
+        volatile int committed;
+
+        Segment(long id, MappedByteBuffer buffer) {
+            this.id = id;
+            this.buffer = buffer;
+        }
+    }
+
+    private record PendingAppend(byte[] payload, CompletableFuture<Void> done) {
+    }
+
+    private final BlockingQueue<PendingAppend> queue = new LinkedBlockingQueue<>();
+    private Path dir;
+    private volatile Segment active;
+    private Thread writer;
+    private volatile boolean running;
+
+    // ==================== LIFECYCLE ====================
+
+    /**
+     * Open the newest segment (or create the first one) and find the end of its valid records.
+     */
+    @PostConstruct
+    void open() throws IOException {
+        dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        List<Long> ids = segmentIds();
+        if (ids.isEmpty()) {
+            active = createSegment(System.currentTimeMillis());
+        } else {
+            Segment last = mapSegment(ids.get(ids.size() - 1), FileChannel.MapMode.READ_WRITE);
+            last.committed = recover(last.buffer);
+            active = last;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "contact-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Contact journal open at {} (segment {}, position {})", dir.toAbsolutePath(), active.id, active.committed);
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        active.buffer.force();
+    }
+
+    // ==================== WRITE ====================
+
+    /**
+     * Append a submission and wait until it is in the mapped segment.
+     */
+    public void append(ContactMessageDTO dto) {
+        byte[] payload = encode(dto);
+        if (HEADER_BYTES + payload.length > segmentSize) {
+            throw new IllegalArgumentException("Message is too long.");
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.add(new PendingAppend(payload, done));
+        try {
+            done.orTimeout(10, TimeUnit.SECONDS).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Could not record contact message", e.getCause());
+        }
+    }
+
+    private void runWriter() {
+        List<PendingAppend> batch = new ArrayList<>();
+        long lastSync = System.nanoTime();
+        boolean dirty = false;
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingAppend first = queue.poll(syncIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch);
+                }
+            } catch (InterruptedException e) {
+                // close() interrupts the poll; the loop drains whatever is still queued
+            }
+            for (PendingAppend pending : batch) {
+                try {
+                    write(pending.payload());
+                    dirty = true;
+                    pending.done().complete(null);
+                } catch (RuntimeException e) {
+                    log.error("Contact journal append failed", e);
+                    pending.done().completeExceptionally(e);
+                }
+            }
+            batch.clear();
+            if (dirty && System.nanoTime() - lastSync >= TimeUnit.MILLISECONDS.toNanos(syncIntervalMillis)) {
+                active.buffer.force();
+                lastSync = System.nanoTime();
+                dirty = false;
+            }
+        }
+    }
+
+    private void write(byte[] payload) {
+        Segment segment = active;
+        int needed = HEADER_BYTES + payload.length;
+        if (segment.committed + needed > segmentSize) {
+            segment.buffer.force();
+            segment = roll(segment);
+        }
+        int pos = segment.committed;
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        segment.buffer.putInt(pos + 4, (int) crc.getValue());
+        segment.buffer.put(pos + HEADER_BYTES, payload);
+        segment.buffer.putInt(pos, payload.length);
+        segment.committed = pos + needed;
+    }
+
+    private Segment roll(Segment full) {
+        try {
+            Segment next = createSegment(Math.max(System.currentTimeMillis(), full.id + 1));
+            active = next;
+            return next;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ==================== READ ====================
+
+    /**
+     * Up to {@code max} records starting at (fromSegment, fromOffset), in journal order.
+     * Segments older than fromSegment are skipped; a later segment is read from its start.
+     */
+    public List<JournalRecord> read(long fromSegment, int fromOffset, int max) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        Segment writing = active;
+        for (long id : segmentIds()) {
+            if (id < fromSegment || records.size() >= max) {
+                continue;
+            }
+            if (id > writing.id) {
+                break; // rolled after we looked; picked up next time
+            }
+            ByteBuffer view;
+            int limit;
+            if (id == writing.id) {
+                limit = writing.committed;
+                view = writing.buffer.duplicate();
+            } else {
+                view = mapSegment(id, FileChannel.MapMode.READ_ONLY).buffer;
+                limit = view.capacity();
+            }
+            int pos = id == fromSegment ? fromOffset : 0;
+            while (records.size() < max) {
+                byte[] payload = readPayload(view, pos, limit);
+                if (payload == null) {
+                    break;
+                }
+                records.add(decode(id, pos, payload));
+                pos += HEADER_BYTES + payload.length;
+            }
+        }
+        return records;
+    }
+
+    /** Delete segments older than the given one; they have been drained */
+    public void deleteSegmentsBefore(long segment) throws IOException {
+        long writing = active.id;
+        for (long id : segmentIds()) {
+            if (id < segment && id != writing) {
+                Files.deleteIfExists(segmentPath(id));
+            }
+        }
+    }
+
+    // ==================== FORMAT ====================
+
+    private static byte[] encode(ContactMessageDTO dto) {
+        byte[][] fields = {utf8(dto.getName()), utf8(dto.getEmail()), utf8(dto.getPhone()), utf8(dto.getMessage())};
+        int size = Long.BYTES;
+        for (byte[] field : fields) {
+            size += Integer.BYTES + (field == null ? 0 : field.length);
+        }
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        buf.putLong(Instant.now().toEpochMilli());
+        for (byte[] field : fields) {
+            buf.putInt(field == null ? -1 : field.length);
+            if (field != null) {
+                buf.put(field);
+            }
+        }
+        return buf.array();
+    }
+
+    private static JournalRecord decode(long segment, int offset, byte[] payload) {
+        ByteBuffer buf = ByteBuffer.wrap(payload);
+        LocalDateTime submittedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(buf.getLong()), ZoneId.systemDefault());
+        return new JournalRecord(segment, offset, submittedAt, string(buf), string(buf), string(buf), string(buf));
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer buf) {
+        int length = buf.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Payload of the record at pos, or null at the end of the valid records */
+    private static byte[] readPayload(ByteBuffer view, int pos, int limit) {
+        if (pos + HEADER_BYTES > limit) {
+            return null;
+        }
+        int length = view.getInt(pos);
+        if (length <= 0 || pos + HEADER_BYTES + length > limit) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        view.get(pos + HEADER_BYTES, payload);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue() == view.getInt(pos + 4) ? payload : null;
+    }
+
+    /** End of the valid records; anything after it (a torn write) is zeroed */
+    private static int recover(MappedByteBuffer buffer) {
+        int pos = 0;
+        byte[] payload;
+        while ((payload = readPayload(buffer, pos, buffer.capacity())) != null) {
+            pos += HEADER_BYTES + payload.length;
+        }
+        for (int i = pos; i < buffer.capacity(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        return pos;
+    }
+
+    // ==================== FILES ====================
+
+    private Segment createSegment(long id) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segmentPath(id).toFile(), "rw")) {
+            file.setLength(segmentSize);
+        }
+        return mapSegment(id, FileChannel.MapMode.READ_WRITE);
+    }
+
+    private Segment mapSegment(long id, FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(segmentPath(id), options)) {
+            return new Segment(id, channel.map(mode, 0, channel.size()));
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return dir.resolve(PREFIX + String.format("%016d", id) + SUFFIX);
+    }
+
+    private List<Long> segmentIds() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
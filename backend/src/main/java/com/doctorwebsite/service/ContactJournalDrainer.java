@@ -0,0 +1,92 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.entity.ContactMessage;
+import com.doctorwebsite.repository.ContactMessageRepository;
+import com.doctorwebsite.service.ContactJournal.JournalRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Loads contact journal records into contact_messages in batches.
+ * The last loaded (segment, offset) is the checkpoint, so a record is never loaded twice
+ * and a crash between insert and segment cleanup simply resumes from the table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContactJournalDrainer {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO contact_messages
+                (name, email, phone, message, submitted_at, journal_segment, journal_offset)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final ContactJournal journal;
+    private final ContactMessageRepository contactMessageRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.contact.journal.drain-batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Drain everything appended since the last checkpoint.
+     */
+    @Scheduled(fixedDelayString = "${app.contact.journal.drain-interval-ms:1000}")
+    public void drain() {
+        try {
+            int loaded;
+            long segment = 0;
+            do {
+                Optional<ContactMessage> checkpoint =
+                        contactMessageRepository.findTopByOrderByJournalSegmentDescJournalOffsetDesc();
+                segment = checkpoint.map(ContactMessage::getJournalSegment).orElse(0L);
+                int offset = checkpoint.map(c -> c.getJournalOffset().intValue()).orElse(0);
+
+                List<JournalRecord> records = journal.read(segment, offset, batchSize + 1);
+                if (!records.isEmpty() && checkpoint.isPresent()
+                        && records.get(0).segment() == segment && records.get(0).offset() == offset) {
+                    records = records.subList(1, records.size()); // the checkpoint itself
+                }
+                loaded = insert(records);
+                if (loaded > 0) {
+                    segment = records.get(loaded - 1).segment();
+                }
+            } while (loaded >= batchSize);
+            journal.deleteSegmentsBefore(segment);
+        } catch (IOException | RuntimeException e) {
+            log.error("Contact journal drain failed; will retry", e);
+        }
+    }
+
+    private int insert(List<JournalRecord> records) {
+        List<JournalRecord> batch = records.subList(0, Math.min(records.size(), batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, r) -> {
+                    ps.setString(1, r.name());
+                    ps.setString(2, r.email());
+                    ps.setString(3, r.phone());
+                    ps.setString(4, r.message());
+                    ps.setTimestamp(5, Timestamp.valueOf(r.submittedAt()));
+                    ps.setLong(6, r.segment());
+                    ps.setLong(7, r.offset());
+                }));
+        log.debug("Loaded {} contact messages from the journal", batch.size());
+        return batch.size();
+    }
+}
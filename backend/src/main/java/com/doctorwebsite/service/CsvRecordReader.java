@@ -0,0 +1,126 @@
+package com.doctorwebsite.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: comma separated, optional double quotes ("" inside quotes is a quote),
+ * quoted fields may span lines, CRLF or LF line ends, blank lines skipped.
+ * Not thread-safe.
+ */
+final class CsvRecordReader {
+
+    private final Reader in;
+    private final char[] buffer = new char[64 * 1024];
+    private int pos;
+    private int limit;
+
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+
+    /** Line the next record starts on (1-based) */
+    private long line = 1;
+    private long recordLine;
+
+    CsvRecordReader(Reader in) {
+        this.in = in;
+    }
+
+    /** Line number the record last returned by {@link #next()} started on */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Next record, or null at end of input.
+     */
+    String[] next() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        recordLine = line;
+        boolean inQuotes = false;
+        boolean started = false;
+
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                if (!started) {
+                    return null;
+                }
+                return finish();
+            }
+            if (inQuotes) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> {
+                    started = true;
+                    inQuotes = true;
+                }
+                case ',' -> {
+                    started = true;
+                    fields.add(field.toString());
+                    field.setLength(0);
+                }
+                case '\r' -> {
+                    // CR of a CRLF line end
+                }
+                case '\n' -> {
+                    line++;
+                    if (started) {
+                        return finish();
+                    }
+                    recordLine = line;
+                }
+                default -> {
+                    started = true;
+                    field.append((char) c);
+                }
+            }
+        }
+    }
+
+    private String[] finish() {
+        fields.add(field.toString());
+        return fields.toArray(String[]::new);
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos++];
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos];
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buffer);
+        if (n <= 0) {
+            return false;
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+}
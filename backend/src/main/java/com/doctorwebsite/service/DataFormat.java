@@ -0,0 +1,45 @@
+package com.doctorwebsite.service;
+
+import java.util.Locale;
+
+/**
+ * File formats of the appointment export and the bulk import.
+ */
+public enum DataFormat {
+    CSV("text/csv;charset=UTF-8", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    DataFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /** Format named by a request parameter; CSV when absent */
+    public static DataFormat parse(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid format. Use: csv or ndjson");
+        }
+    }
+
+    /** Format implied by a file name: .ndjson / .jsonl are NDJSON, anything else CSV */
+    public static DataFormat fromFilename(String filename) {
+        String name = filename.toLowerCase(Locale.ROOT);
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? NDJSON : CSV;
+    }
+}
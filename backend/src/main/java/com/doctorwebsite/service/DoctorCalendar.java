@@ -0,0 +1,55 @@
+package com.doctorwebsite.service;
+
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Booked intervals of one doctor, ordered by start time.
+ * Every booking occupies [start, start + slotMinutes), times in epoch minutes of local clinic time.
+ * Backed by a skip list, so conflict checks and updates are O(log n) and safe to call concurrently.
+ */
+final class DoctorCalendar {
+
+    private final NavigableSet<Booking> bookings = new ConcurrentSkipListSet<>();
+
+    /** One occupied interval; ordered by start, then appointment id so equal starts can coexist */
+    record Booking(long startMinute, long appointmentId) implements Comparable<Booking> {
+        @Override
+        public int compareTo(Booking o) {
+            int c = Long.compare(startMinute, o.startMinute);
+            return c != 0 ? c : Long.compare(appointmentId, o.appointmentId);
+        }
+    }
+
+    void add(long startMinute, long appointmentId) {
+        bookings.add(new Booking(startMinute, appointmentId));
+    }
+
+    void remove(long startMinute, long appointmentId) {
+        bookings.remove(new Booking(startMinute, appointmentId));
+    }
+
+    /**
+     * Whether [start, start + slotMinutes) overlaps a booking other than {@code ignoreId}.
+     * All intervals share one length, so only bookings starting in (start - slot, start + slot) can overlap.
+     */
+    boolean conflicts(long startMinute, int slotMinutes, long ignoreId) {
+        Booking b = bookings.ceiling(new Booking(startMinute - slotMinutes + 1, Long.MIN_VALUE));
+        while (b != null && b.startMinute() < startMinute + slotMinutes) {
+            if (b.appointmentId() != ignoreId) {
+                return true;
+            }
+            b = bookings.higher(b);
+        }
+        return false;
+    }
+
+    /** Drop bookings that started before the given minute; they can no longer conflict */
+    void pruneBefore(long minute) {
+        bookings.headSet(new Booking(minute, Long.MIN_VALUE)).clear();
+    }
+
+    int size() {
+        return bookings.size();
+    }
+}
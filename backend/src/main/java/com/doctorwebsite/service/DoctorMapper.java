@@ -0,0 +1,50 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.dto.DoctorDTO;
+import com.doctorwebsite.dto.DoctorSummary;
+import com.doctorwebsite.entity.Doctor;
+
+/**
+ * Maps Doctor entities to their outbound DTOs. Stateless, so callers (and benchmarks)
+ * need no DoctorService to use it.
+ */
+public final class DoctorMapper {
+
+    private DoctorMapper() {
+    }
+
+    /**
+     * Map Doctor entity to DoctorDTO (safe outbound DTO).
+     */
+    public static DoctorDTO toDTO(Doctor doctor) {
+        return new DoctorDTO(
+                doctor.getId(),
+                doctor.getName(),
+                doctor.getDegree(),
+                doctor.getSpecialization(),
+                doctor.getExperienceYears(),
+                doctor.getClinicTiming(),
+                doctor.getPhotoUrl(),
+                doctor.getBio(),
+                doctor.getClinicName(),
+                doctor.getConsultationFee()
+        );
+    }
+
+    /**
+     * Map Doctor entity to the list view of it (no bio).
+     */
+    public static DoctorSummary toSummary(Doctor doctor) {
+        return new DoctorSummary(
+                doctor.getId(),
+                doctor.getName(),
+                doctor.getDegree(),
+                doctor.getSpecialization(),
+                doctor.getExperienceYears(),
+                doctor.getClinicTiming(),
+                doctor.getPhotoUrl(),
+                doctor.getClinicName(),
+                doctor.getConsultationFee()
+        );
+    }
+}
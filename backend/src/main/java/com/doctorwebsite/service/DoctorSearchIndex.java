@@ -0,0 +1,453 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.dto.DoctorSearchResult;
+import com.doctorwebsite.dto.DoctorSuggestion;
+import com.doctorwebsite.dto.DoctorSummary;
+import com.doctorwebsite.dto.FacetCount;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory doctor search: facets over specialization, degree and clinic name,
+ * plus a compact prefix trie for word search and autocomplete.
+ *
+ * Readers use an immutable {@link Snapshot} published through a volatile field;
+ * every write builds a new snapshot, which is cheap at the size of a clinic's doctor list.
+ */
+@Component
+public class DoctorSearchIndex {
+
+    /** Suggestions kept per trie node, and the most a caller may ask for */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    /** Separators between facet values in one column, e.g. "MBBS, FCPS" or "Cardiology & Medicine" */
+    private static final Pattern FACET_SEPARATORS = Pattern.compile("\\s*(?:[,&/|;]|\\band\\b)\\s*",
+            Pattern.CASE_INSENSITIVE);
+
+    /** Searchable doctor fields; facets exist for all but NAME */
+    public enum Field {
+        NAME(DoctorSummary::name),
+        SPECIALIZATION(DoctorSummary::specialization),
+        DEGREE(DoctorSummary::degree),
+        CLINIC(DoctorSummary::clinicName);
+
+        private final Function<DoctorSummary, String> getter;
+
+        Field(Function<DoctorSummary, String> getter) {
+            this.getter = getter;
+        }
+
+        boolean faceted() {
+            return this != NAME;
+        }
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private volatile Snapshot snapshot = Snapshot.build(List.of());
+
+    // ==================== WRITES ====================
+
+    /**
+     * Replace the whole index.
+     */
+    public synchronized void rebuild(Collection<DoctorSummary> doctors) {
+        snapshot = Snapshot.build(doctors);
+    }
+
+    /**
+     * Add or replace one doctor (matched by id).
+     */
+    public synchronized void upsert(DoctorSummary doctor) {
+        Map<Long, DoctorSummary> byId = new LinkedHashMap<>();
+        for (DoctorSummary d : snapshot.docs) {
+            byId.put(d.id(), d);
+        }
+        byId.put(doctor.id(), doctor);
+        snapshot = Snapshot.build(byId.values());
+    }
+
+    // ==================== READS ====================
+
+    /**
+     * Doctors whose words start with every word of {@code query} (all doctors if blank),
+     * narrowed by optional facet values, with facet counts over the matches.
+     */
+    public DoctorSearchResult search(String query, Map<Field, String> facetFilters) {
+        Snapshot s = snapshot;
+        BitSet matches = new BitSet();
+        matches.set(0, s.docs.length);
+
+        for (String token : tokenize(query)) {
+            Trie.Node node = s.trie.find(token);
+            if (node == null) {
+                matches.clear();
+                break;
+            }
+            matches.and(node.docs);
+        }
+
+        for (Map.Entry<Field, String> filter : facetFilters.entrySet()) {
+            if (filter.getValue() == null || filter.getValue().isBlank()) {
+                continue;
+            }
+            Facet facet = s.facets.get(filter.getKey()).get(normalizePhrase(filter.getValue()));
+            if (facet == null) {
+                matches.clear();
+            } else {
+                matches.and(facet.docs);
+            }
+        }
+
+        List<DoctorSummary> doctors = new ArrayList<>(matches.cardinality());
+        for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+            doctors.add(s.docs[doc]);
+        }
+
+        Map<String, List<FacetCount>> facetCounts = new LinkedHashMap<>();
+        for (Field field : Field.values()) {
+            if (!field.faceted()) {
+                continue;
+            }
+            List<FacetCount> counts = new ArrayList<>();
+            for (Facet facet : s.facets.get(field).values()) {
+                int count = intersectionSize(facet.docs, matches);
+                if (count > 0) {
+                    counts.add(new FacetCount(facet.display, count));
+                }
+            }
+            counts.sort(Comparator.comparingInt(FacetCount::getCount).reversed()
+                    .thenComparing(FacetCount::getValue));
+            facetCounts.put(field.key(), counts);
+        }
+        return new DoctorSearchResult(doctors, facetCounts);
+    }
+
+    /**
+     * Autocomplete: names and facet values with a word starting with {@code prefix},
+     * most common first. Answered from the top suggestions stored on the trie node.
+     */
+    public List<DoctorSuggestion> suggest(String prefix, int limit) {
+        Snapshot s = snapshot;
+        String key = normalizePhrase(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Trie.Node node = s.trie.find(key);
+        if (node == null) {
+            return List.of();
+        }
+        int n = Math.max(0, Math.min(Math.min(limit, MAX_SUGGESTIONS), node.top.length));
+        List<DoctorSuggestion> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Suggestion sug = s.suggestions[node.top[i]];
+            result.add(new DoctorSuggestion(sug.display, sug.field.key(), sug.count));
+        }
+        return result;
+    }
+
+    // ==================== TEXT ====================
+
+    /** Lower-case, accents stripped, whitespace collapsed */
+    static String normalizePhrase(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    static List<String> tokenize(String text) {
+        String normalized = normalizePhrase(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /** Facet values of one column: "MBBS, FCPS (Medicine)" gives "MBBS" and "FCPS (Medicine)" */
+    static List<String> facetValues(Field field, String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        if (field == Field.CLINIC) {
+            return List.of(text.trim());
+        }
+        List<String> values = new ArrayList<>();
+        for (String part : FACET_SEPARATORS.split(text)) {
+            String value = part.trim();
+            if (!value.isEmpty()) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    private static int intersectionSize(BitSet a, BitSet b) {
+        BitSet both = (BitSet) a.clone();
+        both.and(b);
+        return both.cardinality();
+    }
+
+    // ==================== SNAPSHOT ====================
+
+    private static final class Facet {
+        final String display;
+        final BitSet docs = new BitSet();
+
+        Facet(String display) {
+            this.display = display;
+        }
+    }
+
+    private static final class Suggestion {
+        final String display;
+        final Field field;
+        final int count;
+
+        Suggestion(String display, Field field, int count) {
+            this.display = display;
+            this.field = field;
+            this.count = count;
+        }
+    }
+
+    private static final class Snapshot {
+        final DoctorSummary[] docs;
+        final Map<Field, Map<String, Facet>> facets;
+        final Suggestion[] suggestions;
+        final Trie trie;
+
+        private Snapshot(DoctorSummary[] docs, Map<Field, Map<String, Facet>> facets,
+                         Suggestion[] suggestions, Trie trie) {
+            this.docs = docs;
+            this.facets = facets;
+            this.suggestions = suggestions;
+            this.trie = trie;
+        }
+
+        static Snapshot build(Collection<DoctorSummary> doctors) {
+            DoctorSummary[] docs = doctors.stream()
+                    .sorted(Comparator.comparing(DoctorSummary::id, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .toArray(DoctorSummary[]::new);
+
+            Trie.Builder trie = new Trie.Builder();
+            Map<Field, Map<String, Facet>> facets = new EnumMap<>(Field.class);
+            Map<Field, Map<String, Facet>> phrases = new EnumMap<>(Field.class);
+            for (Field field : Field.values()) {
+                if (field.faceted()) {
+                    facets.put(field, new TreeMap<>());
+                }
+                phrases.put(field, new TreeMap<>());
+            }
+
+            for (int doc = 0; doc < docs.length; doc++) {
+                for (Field field : Field.values()) {
+                    String text = field.getter.apply(docs[doc]);
+                    for (String token : tokenize(text)) {
+                        trie.addDoc(token, doc);
+                    }
+                    List<String> values = field.faceted()
+                            ? facetValues(field, text)
+                            : (text == null || text.isBlank() ? List.of() : List.of(text.trim()));
+                    for (String value : values) {
+                        String key = normalizePhrase(value);
+                        phrases.get(field).computeIfAbsent(key, k -> new Facet(value)).docs.set(doc);
+                        if (field.faceted()) {
+                            facets.get(field).computeIfAbsent(key, k -> new Facet(value)).docs.set(doc);
+                        }
+                    }
+                }
+            }
+
+            // Suggestion ids follow rank order (most doctors first), so a node's best suggestions
+            // are simply its smallest ids
+            List<Map.Entry<String, Suggestion>> ranked = new ArrayList<>();
+            phrases.forEach((field, byKey) -> byKey.forEach((key, phrase) -> ranked.add(
+                    Map.entry(key, new Suggestion(phrase.display, field, phrase.docs.cardinality())))));
+            ranked.sort(Comparator.<Map.Entry<String, Suggestion>>comparingInt(e -> -e.getValue().count)
+                    .thenComparing(e -> e.getValue().display, String.CASE_INSENSITIVE_ORDER));
+
+            // Every phrase is reachable from the start of each of its words,
+            // so "card" suggests "Interventional Cardiology"
+            Suggestion[] suggestions = new Suggestion[ranked.size()];
+            for (int id = 0; id < suggestions.length; id++) {
+                suggestions[id] = ranked.get(id).getValue();
+                String key = ranked.get(id).getKey();
+                for (int start = 0; start < key.length(); start++) {
+                    boolean wordStart = start == 0
+                            || (!Character.isLetterOrDigit(key.charAt(start - 1))
+                                && Character.isLetterOrDigit(key.charAt(start)));
+                    if (wordStart) {
+                        trie.addSuggestion(key.substring(start), id);
+                    }
+                }
+            }
+            return new Snapshot(docs, facets, suggestions, trie.freeze());
+        }
+    }
+
+    // ==================== TRIE ====================
+
+    /**
+     * Immutable character trie. Children are held in parallel sorted arrays (binary-searched),
+     * each node carries the union of documents below it and its best {@link #MAX_SUGGESTIONS} suggestions,
+     * so a prefix lookup costs one walk of the prefix and nothing more.
+     */
+    private static final class Trie {
+
+        static final class Node {
+            final char[] keys;
+            final Node[] children;
+            final BitSet docs;
+            final int[] top;
+
+            Node(char[] keys, Node[] children, BitSet docs, int[] top) {
+                this.keys = keys;
+                this.children = children;
+                this.docs = docs;
+                this.top = top;
+            }
+        }
+
+        private static final BitSet NO_DOCS = new BitSet();
+        private static final int[] NO_SUGGESTIONS = new int[0];
+
+        private final Node root;
+
+        private Trie(Node root) {
+            this.root = root;
+        }
+
+        Node find(String prefix) {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                int at = Arrays.binarySearch(node.keys, prefix.charAt(i));
+                node = at < 0 ? null : node.children[at];
+            }
+            return node;
+        }
+
+        static final class Builder {
+
+            private static final class MutableNode {
+                final TreeMap<Character, MutableNode> children = new TreeMap<>();
+                BitSet docs;
+                List<Integer> suggestions = List.of();
+            }
+
+            private final MutableNode root = new MutableNode();
+
+            void addDoc(String word, int doc) {
+                MutableNode node = walk(word);
+                if (node.docs == null) {
+                    node.docs = new BitSet();
+                }
+                node.docs.set(doc);
+            }
+
+            void addSuggestion(String key, int suggestion) {
+                MutableNode node = walk(key);
+                if (node.suggestions.isEmpty()) {
+                    node.suggestions = new ArrayList<>(1);
+                }
+                node.suggestions.add(suggestion);
+            }
+
+            private MutableNode walk(String key) {
+                MutableNode node = root;
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.children.computeIfAbsent(key.charAt(i), c -> new MutableNode());
+                }
+                return node;
+            }
+
+            Trie freeze() {
+                return new Trie(freeze(root));
+            }
+
+            private static Node freeze(MutableNode node) {
+                char[] keys = new char[node.children.size()];
+                Node[] children = new Node[keys.length];
+                // A node with a single contributing child shares that child's set instead of copying it
+                BitSet docs = node.docs;
+                boolean shared = false;
+                int candidates = node.suggestions.size();
+
+                int i = 0;
+                for (Map.Entry<Character, MutableNode> child : node.children.entrySet()) {
+                    keys[i] = child.getKey();
+                    children[i] = freeze(child.getValue());
+                    BitSet childDocs = children[i].docs;
+                    if (!childDocs.isEmpty()) {
+                        if (docs == null) {
+                            docs = childDocs;
+                            shared = true;
+                        } else {
+                            if (shared) {
+                                docs = (BitSet) docs.clone();
+                                shared = false;
+                            }
+                            docs.or(childDocs);
+                        }
+                    }
+                    candidates += children[i].top.length;
+                    i++;
+                }
+                int[] top = node.suggestions.isEmpty() && children.length == 1
+                        ? children[0].top
+                        : best(node, children, candidates);
+                return new Node(keys, children, docs == null ? NO_DOCS : docs, top);
+            }
+
+            /** Smallest distinct suggestion ids among this node and its children, at most MAX_SUGGESTIONS */
+            private static int[] best(MutableNode node, Node[] children, int candidates) {
+                if (candidates == 0) {
+                    return NO_SUGGESTIONS;
+                }
+                int[] ids = new int[candidates];
+                int n = 0;
+                for (int id : node.suggestions) {
+                    ids[n++] = id;
+                }
+                for (Node child : children) {
+                    System.arraycopy(child.top, 0, ids, n, child.top.length);
+                    n += child.top.length;
+                }
+                Arrays.sort(ids);
+                int distinct = 0;
+                for (int j = 0; j < n && distinct < MAX_SUGGESTIONS; j++) {
+                    if (distinct == 0 || ids[j] != ids[distinct - 1]) {
+                        ids[distinct++] = ids[j];
+                    }
+                }
+                return Arrays.copyOf(ids, distinct);
+            }
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.doctorwebsite.service;
 
-import com.doctorwebsite.dto.DoctorDTO;
+import com.doctorwebsite.dto.ApiResponse;
+import com.doctorwebsite.dto.DoctorSummary;
+import com.doctorwebsite.dto.ServiceSummary;
 import com.doctorwebsite.entity.Doctor;
 import com.doctorwebsite.entity.MedicalService;
 import com.doctorwebsite.exception.ResourceNotFoundException;
 import com.doctorwebsite.repository.DoctorRepository;
 import com.doctorwebsite.repository.ServiceRepository;
+import com.doctorwebsite.service.CatalogCache.Catalog;
+import com.doctorwebsite.service.ReadReplicaRouter.Scope;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -14,6 +19,8 @@ import java.util.List;
 
 /**
  * Service layer for doctor and medical service operations.
+ * Reads may be served by the read replica; every write fences the catalog onto the primary
+ * (see ReadReplicaRouter) before the cache is dropped, so the reload sees it.
  */
 @Service
 @RequiredArgsConstructor
@@ -22,6 +29,19 @@ public class DoctorService {
 
     private final DoctorRepository doctorRepository;
     private final ServiceRepository serviceRepository;
+    private final SlotAvailabilityService slotService;
+    private final CatalogCache catalogCache;
+    private final DoctorSearchIndex searchIndex;
+    private final ReadReplicaRouter replicaRouter;
+
+    /**
+     * Load the doctor search index from the table, on the primary: the index is only updated
+     * incrementally after this, so it must not start from a lagging copy.
+     */
+    @PostConstruct
+    public void loadSearchIndex() {
+        searchIndex.rebuild(doctorRepository.findAllSummaries());
+    }
 
     // ==================== DOCTOR ====================
 
@@ -29,63 +49,112 @@ public class DoctorService {
      * Get all doctors.
      */
     public List<Doctor> getAllDoctors() {
-        return doctorRepository.findAll();
+        return replicaRouter.read(Scope.CATALOG, doctorRepository::findAll);
+    }
+
+    /**
+     * All doctors without their bio, read as projections rather than entities.
+     */
+    public List<DoctorSummary> getDoctorSummaries() {
+        return replicaRouter.read(Scope.CATALOG, doctorRepository::findAllSummaries);
     }
 
     /**
      * Get doctor by ID.
      */
     public Doctor getDoctorById(Long id) {
-        return doctorRepository.findById(id)
+        return replicaRouter.read(Scope.CATALOG, () -> doctorRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor", id));
     }
 
     /**
-     * Map Doctor entity to DoctorDTO (safe outbound DTO).
+     * Serialized response for GET /api/doctors, served from the catalog cache.
      */
-    public DoctorDTO mapToDTO(Doctor doctor) {
-        return new DoctorDTO(
-                doctor.getId(),
-                doctor.getName(),
-                doctor.getDegree(),
-                doctor.getSpecialization(),
-                doctor.getExperienceYears(),
-                doctor.getClinicTiming(),
-                doctor.getPhotoUrl(),
-                doctor.getBio(),
-                doctor.getClinicName(),
-                doctor.getConsultationFee()
-        );
+    public CatalogCache.Entry getDoctorsResponse() {
+        return catalogCache.get(Catalog.DOCTORS, "all", () -> ApiResponse.success("Doctors retrieved",
+                getDoctorSummaries()));
+    }
+
+    /**
+     * Serialized response for GET /api/doctors/{id}, served from the catalog cache.
+     */
+    public CatalogCache.Entry getDoctorResponse(Long id) {
+        return catalogCache.get(Catalog.DOCTORS, "id:" + id, () -> ApiResponse.success("Doctor found",
+                DoctorMapper.toDTO(getDoctorById(id))));
     }
 
     /**
      * Save or update a doctor.
+     * Refreshes the slot engine so changed clinic timing takes effect immediately,
+     * updates the search index and drops the cached doctor responses.
      */
     public Doctor saveDoctor(Doctor doctor) {
-        return doctorRepository.save(doctor);
+        Doctor saved = doctorRepository.save(doctor);
+        replicaRouter.recordWrite(Scope.CATALOG);
+        slotService.refreshDoctor(saved);
+        searchIndex.upsert(DoctorMapper.toSummary(saved));
+        catalogCache.invalidate(Catalog.DOCTORS);
+        return saved;
     }
 
     // ==================== SERVICES ====================
 
     /**
-     * Get all active services ordered by display position.
+     * Get all active services ordered by display position, read as projections rather than entities.
      */
-    public List<MedicalService> getAllActiveServices() {
-        return serviceRepository.findByActiveTrueOrderByDisplayOrderAsc();
+    public List<ServiceSummary> getAllActiveServices() {
+        return replicaRouter.read(Scope.CATALOG, serviceRepository::findActiveSummaries);
     }
 
     /**
      * Get service by ID.
      */
     public MedicalService getServiceById(Long id) {
-        return serviceRepository.findById(id)
+        return replicaRouter.read(Scope.CATALOG, () -> serviceRepository.findById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Service", id));
+    }
+
+    /**
+     * Serialized response for GET /api/services, served from the catalog cache.
+     */
+    public CatalogCache.Entry getActiveServicesResponse() {
+        return catalogCache.get(Catalog.SERVICES, "active", () -> ApiResponse.success("Services retrieved",
+                getAllActiveServices()));
+    }
+
+    /**
+     * Serialized response for GET /api/services/{id}, served from the catalog cache.
+     */
+    public CatalogCache.Entry getServiceResponse(Long id) {
+        return catalogCache.get(Catalog.SERVICES, "id:" + id, () -> ApiResponse.success("Service found",
+                getServiceById(id)));
+    }
+
+    /**
+     * Save or update services, then drop the cached service responses.
+     */
+    public List<MedicalService> saveServices(List<MedicalService> services) {
+        List<MedicalService> saved = serviceRepository.saveAll(services);
+        replicaRouter.recordWrite(Scope.CATALOG);
+        catalogCache.invalidate(Catalog.SERVICES);
+        return saved;
+    }
+
+    /**
+     * Delete a service, then drop the cached service responses.
+     */
+    public void deleteService(Long id) {
+        MedicalService service = serviceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Service", id));
+        serviceRepository.delete(service);
+        replicaRouter.recordWrite(Scope.CATALOG);
+        catalogCache.invalidate(Catalog.SERVICES);
     }
 
     /**
      * Get all services (including inactive — for admin).
      */
     public List<MedicalService> getAllServices() {
-        return serviceRepository.findAll();
+        return replicaRouter.read(Scope.CATALOG, serviceRepository::findAll);
     }
 }
@@ -0,0 +1,157 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.dto.PatientSearchHit;
+import com.doctorwebsite.dto.PatientSearchPage;
+import com.doctorwebsite.entity.Appointment;
+import com.doctorwebsite.repository.AppointmentRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Patient search by name or phone over an in-memory {@link TrigramIndex}.
+ * Built from the appointments table at startup and kept current through {@link AppointmentChangeListener},
+ * so a search never reaches the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientSearchService implements AppointmentChangeListener {
+
+    private static final int REBUILD_CHUNK = 10_000;
+
+    private final AppointmentRepository appointmentRepository;
+
+    @Value("${app.search.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.search.max-size:100}")
+    private int maxPageSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Guarded by lock */
+    private TrigramIndex index = new TrigramIndex();
+
+    /** Changes made while a rebuild is reading the table; replayed onto the new index. Guarded by lock */
+    private List<Consumer<TrigramIndex>> changesDuringRebuild;
+
+    // ==================== LIFECYCLE ====================
+
+    /**
+     * Rebuild the index from the table, in id order and in chunks.
+     * Searches keep using the old index meanwhile; changes made during the rebuild are replayed onto the new one.
+     * If loading fails part way, the old index stays in place.
+     */
+    @PostConstruct
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TrigramIndex fresh = new TrigramIndex();
+        boolean loaded = false;
+        try {
+            long afterId = 0;
+            List<AppointmentRepository.SearchRow> rows;
+            do {
+                rows = appointmentRepository.findSearchRowsAfter(afterId, PageRequest.of(0, REBUILD_CHUNK));
+                for (AppointmentRepository.SearchRow row : rows) {
+                    fresh.upsert(row.getId(), row.getPatientName(), row.getPhone(),
+                            row.getAppointmentDatetime(), row.getStatus());
+                    afterId = row.getId();
+                }
+            } while (rows.size() == REBUILD_CHUNK);
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    changesDuringRebuild.forEach(change -> change.accept(fresh));
+                    index = fresh;
+                }
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Patient search index rebuilt with {} appointments", fresh.size());
+    }
+
+    // ==================== SEARCH ====================
+
+    /**
+     * Ranked, paginated search. Digits-only queries match phone numbers, anything else patient names.
+     */
+    public PatientSearchPage search(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required.");
+        }
+        int pageNumber = page == null ? 0 : Math.max(0, page);
+        int pageSize = size == null || size < 1 ? defaultPageSize : Math.min(size, maxPageSize);
+        long offset = (long) pageNumber * pageSize;
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Page " + pageNumber + " is out of range.");
+        }
+        long[] total = new long[1];
+        List<PatientSearchHit> hits;
+        lock.readLock().lock();
+        try {
+            hits = index.search(query.trim(), (int) offset, pageSize, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PatientSearchPage(hits, total[0], pageNumber, pageSize);
+    }
+
+    // ==================== CHANGE TRACKING ====================
+
+    @Override
+    public void onBooked(Appointment appointment) {
+        apply(i -> i.upsert(appointment.getId(), appointment.getPatientName(), appointment.getPhone(),
+                appointment.getAppointmentDatetime(), appointment.getStatus()));
+    }
+
+    @Override
+    public void onStatusChanged(Appointment appointment, Appointment.AppointmentStatus oldStatus) {
+        onBooked(appointment);
+    }
+
+    @Override
+    public void onDeleted(Appointment appointment) {
+        apply(i -> i.remove(appointment.getId()));
+    }
+
+    /** Whole import chunk under one write-lock acquisition */
+    @Override
+    public void onImported(List<Appointment> appointments) {
+        apply(i -> appointments.forEach(a -> i.upsert(a.getId(), a.getPatientName(), a.getPhone(),
+                a.getAppointmentDatetime(), a.getStatus())));
+    }
+
+    private void apply(Consumer<TrigramIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+            if (index.needsCompaction()) {
+                index = index.compacted();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.config.ReplicaRoutingDataSource;
+import com.doctorwebsite.entity.Appointment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Decides which reads may be served by the read replica.
+ * <p>
+ * Services opt in per read with {@link #read}: the query runs in a read-only transaction whose
+ * connection comes from the replica pool. A replica lags behind the primary, so after a write to a
+ * scope every read of that scope stays on the primary for app.datasource.replica.lag-fence-ms —
+ * whoever just booked, or changed a status or the catalog, reads their own write. Appointment writes
+ * arrive as change events; catalog writes are reported by DoctorService.
+ * Without a replica, or while fenced, {@link #read} just runs the query as before.
+ * <p>
+ * Writes are only seen from this JVM; like the slot engine, this assumes a single application
+ * instance per database.
+ */
+@Service
+public class ReadReplicaRouter implements AppointmentChangeListener {
+
+    public enum Scope {
+        CATALOG, APPOINTMENTS
+    }
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long fenceNanos;
+
+    /** System.nanoTime() until which each scope reads from the primary */
+    private final Map<Scope, AtomicLong> fencedUntil = new EnumMap<>(Scope.class);
+
+    public ReadReplicaRouter(ReplicaRoutingDataSource routingDataSource, PlatformTransactionManager transactionManager,
+                             @Value("${app.datasource.replica.lag-fence-ms:5000}") long lagFenceMillis) {
+        this.routingDataSource = routingDataSource;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fenceNanos = lagFenceMillis * 1_000_000;
+        long now = System.nanoTime();
+        for (Scope scope : Scope.values()) {
+            fencedUntil.put(scope, new AtomicLong(now));
+        }
+    }
+
+    /**
+     * Run a read-only query on the replica, or on the primary when there is none or the scope
+     * was written to within the fence. {@code query} must not write.
+     */
+    public <T> T read(Scope scope, Supplier<T> query) {
+        if (!routingDataSource.hasReplica() || isFenced(scope)) {
+            return query.get();
+        }
+        return ReplicaRoutingDataSource.onReplica(() -> readOnlyTransaction.execute(status -> query.get()));
+    }
+
+    /** Keep reads of {@code scope} on the primary until the replica has had time to catch up */
+    public void recordWrite(Scope scope) {
+        fencedUntil.get(scope).set(System.nanoTime() + fenceNanos);
+    }
+
+    public boolean isFenced(Scope scope) {
+        return System.nanoTime() - fencedUntil.get(scope).get() < 0;
+    }
+
+    // ==================== APPOINTMENT CHANGES ====================
+
+    @Override
+    public void onBooked(Appointment appointment) {
+        recordWrite(Scope.APPOINTMENTS);
+    }
+
+    @Override
+    public void onStatusChanged(Appointment appointment, Appointment.AppointmentStatus oldStatus) {
+        recordWrite(Scope.APPOINTMENTS);
+    }
+
+    @Override
+    public void onDeleted(Appointment appointment) {
+        recordWrite(Scope.APPOINTMENTS);
+    }
+
+    @Override
+    public void onImported(List<Appointment> appointments) {
+        recordWrite(Scope.APPOINTMENTS);
+    }
+}
@@ -0,0 +1,246 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.dto.SlotDTO;
+import com.doctorwebsite.entity.Appointment;
+import com.doctorwebsite.entity.Doctor;
+import com.doctorwebsite.exception.ResourceNotFoundException;
+import com.doctorwebsite.exception.SlotUnavailableException;
+import com.doctorwebsite.repository.AppointmentRepository;
+import com.doctorwebsite.repository.DoctorRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory slot engine.
+ * Keeps each doctor's booked intervals in a {@link DoctorCalendar} and their parsed
+ * {@link WorkingHours}, so "is this slot free" and "free slots for a day" never touch the database.
+ * Calendars are rebuilt from AppointmentRepository at startup and kept in sync through
+ * {@link AppointmentChangeListener}; working hours are refreshed when a doctor is saved.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SlotAvailabilityService implements AppointmentChangeListener {
+
+    /** Calendar key for appointments when no doctor exists at all */
+    private static final long NO_DOCTOR = 0L;
+
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorRepository doctorRepository;
+
+    /** Length of one appointment slot */
+    @Value("${app.slots.duration-minutes:30}")
+    private int slotMinutes;
+
+    /** Number of booking lock stripes (rounded up to a power of two) */
+    @Value("${app.slots.lock-stripes:256}")
+    private int lockStripeCount;
+
+    private SlotLockStripes lockStripes;
+
+    private final Map<Long, DoctorCalendar> calendars = new ConcurrentHashMap<>();
+    private final Map<Long, WorkingHours> workingHours = new ConcurrentHashMap<>();
+
+    /** Lowest doctor id — receives bookings that do not name a doctor */
+    private volatile Long defaultDoctorId;
+
+    // ==================== LIFECYCLE ====================
+
+    /**
+     * Load every slot-holding booking that has not yet ended.
+     * Runs before the web server accepts requests, so no booking can slip past the rebuild.
+     */
+    @PostConstruct
+    public void rebuild() {
+        lockStripes = new SlotLockStripes(lockStripeCount);
+        calendars.clear();
+        LocalDateTime from = LocalDateTime.now().minusMinutes(slotMinutes);
+        List<AppointmentRepository.SlotBooking> rows =
+                appointmentRepository.findSlotBookingsFrom(from, Appointment.AppointmentStatus.CANCELLED);
+        for (AppointmentRepository.SlotBooking row : rows) {
+            calendar(row.getDoctorId()).add(toMinute(row.getAppointmentDatetime()), row.getId());
+        }
+        log.info("Slot calendars rebuilt with {} upcoming bookings", rows.size());
+    }
+
+    /** Past bookings can never conflict with a new one; drop them once a day */
+    @Scheduled(cron = "${app.slots.prune-cron:0 15 3 * * *}")
+    public void pruneExpired() {
+        long cutoff = toMinute(LocalDateTime.now().minusMinutes(slotMinutes));
+        calendars.values().forEach(c -> c.pruneBefore(cutoff));
+    }
+
+    /**
+     * Re-read a doctor's clinic timing after the profile changes.
+     */
+    public void refreshDoctor(Doctor doctor) {
+        workingHours.put(doctor.getId(), WorkingHours.parse(doctor.getClinicTiming()));
+        Long current = defaultDoctorId;
+        if (current == null || doctor.getId() < current) {
+            defaultDoctorId = doctor.getId();
+        }
+    }
+
+    // ==================== LOCKING ====================
+
+    /**
+     * Run a check-then-write on a slot while holding the lock stripes that cover it.
+     * Only bookings that could overlap this one wait; everything else proceeds in parallel.
+     * This guards a single application instance — the calendars themselves are per-JVM too.
+     * The action blocks on JDBC while the stripes are held, so nothing on this path may use
+     * synchronized: under virtual threads that would pin the carrier for the whole insert.
+     */
+    public <T> T withSlotLock(Long doctorId, LocalDateTime start, Supplier<T> action) {
+        return lockStripes.withLock(key(doctorId), toMinute(start), slotMinutes, action);
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * The doctor a booking belongs to: the requested one, or the clinic's primary doctor.
+     * Returns null only when no doctor has been set up yet.
+     */
+    public Long resolveDoctorId(Long requested) {
+        if (requested != null) {
+            if (!workingHours.containsKey(requested) && !doctorRepository.existsById(requested)) {
+                throw new ResourceNotFoundException("Doctor", requested);
+            }
+            return requested;
+        }
+        Long id = defaultDoctorId;
+        if (id == null) {
+            id = doctorRepository.findFirstByOrderByIdAsc().map(Doctor::getId).orElse(null);
+            defaultDoctorId = id;
+        }
+        return id;
+    }
+
+    /**
+     * Reject a start time that is outside opening hours or overlaps an existing booking.
+     *
+     * @param ignoreId appointment allowed to overlap (itself, when re-activating), or null
+     */
+    public void checkAvailable(Long doctorId, LocalDateTime start, Long ignoreId) {
+        WorkingHours hours = hoursFor(doctorId);
+        if (hours.isKnown() && !hours.covers(start.getDayOfWeek(), start.toLocalTime(),
+                start.toLocalTime().plusMinutes(slotMinutes))) {
+            throw new IllegalArgumentException("Selected time is outside clinic hours.");
+        }
+        if (isBooked(doctorId, start, ignoreId)) {
+            throw new SlotUnavailableException("This time slot is already booked. Please choose another time.");
+        }
+    }
+
+    /** O(log n) overlap check against the doctor's calendar */
+    public boolean isBooked(Long doctorId, LocalDateTime start, Long ignoreId) {
+        DoctorCalendar calendar = calendars.get(key(doctorId));
+        return calendar != null
+                && calendar.conflicts(toMinute(start), slotMinutes, ignoreId == null ? Long.MIN_VALUE : ignoreId);
+    }
+
+    /**
+     * Free slots on the given day, in order. Slots already in the past are omitted.
+     */
+    public List<SlotDTO> freeSlots(Long doctorId, LocalDate date) {
+        Long id = resolveDoctorId(doctorId);
+        WorkingHours hours = hoursFor(id);
+        List<SlotDTO> free = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (WorkingHours.OpenInterval interval : hours.intervals(date.getDayOfWeek())) {
+            int close = interval.close().toSecondOfDay() / 60;
+            for (int m = interval.open().toSecondOfDay() / 60; m + slotMinutes <= close; m += slotMinutes) {
+                LocalDateTime start = date.atStartOfDay().plusMinutes(m);
+                if (start.isAfter(now) && !isBooked(id, start, null)) {
+                    free.add(new SlotDTO(start, start.plusMinutes(slotMinutes)));
+                }
+            }
+        }
+        return free;
+    }
+
+    // ==================== SYNC ====================
+
+    @Override
+    public void onBooked(Appointment appointment) {
+        if (occupiesSlot(appointment.getStatus())) {
+            calendar(appointment.getDoctorId()).add(toMinute(appointment.getAppointmentDatetime()), appointment.getId());
+        }
+    }
+
+    @Override
+    public void onStatusChanged(Appointment appointment, Appointment.AppointmentStatus oldStatus) {
+        boolean before = occupiesSlot(oldStatus);
+        boolean after = occupiesSlot(appointment.getStatus());
+        long start = toMinute(appointment.getAppointmentDatetime());
+        if (before && !after) {
+            calendar(appointment.getDoctorId()).remove(start, appointment.getId());
+        } else if (!before && after) {
+            calendar(appointment.getDoctorId()).add(start, appointment.getId());
+        }
+    }
+
+    /** Imported history is mostly in the past; only bookings that can still conflict are added */
+    @Override
+    public void onImported(List<Appointment> appointments) {
+        LocalDateTime from = LocalDateTime.now().minusMinutes(slotMinutes);
+        for (Appointment appointment : appointments) {
+            if (appointment.getAppointmentDatetime().isAfter(from)) {
+                onBooked(appointment);
+            }
+        }
+    }
+
+    @Override
+    public void onDeleted(Appointment appointment) {
+        calendar(appointment.getDoctorId()).remove(toMinute(appointment.getAppointmentDatetime()), appointment.getId());
+    }
+
+    // ==================== HELPERS ====================
+
+    static boolean occupiesSlot(Appointment.AppointmentStatus status) {
+        return status != Appointment.AppointmentStatus.CANCELLED;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    private WorkingHours hoursFor(Long doctorId) {
+        if (doctorId == null) {
+            return WorkingHours.UNKNOWN;
+        }
+        return workingHours.computeIfAbsent(doctorId, id -> doctorRepository.findById(id)
+                .map(d -> WorkingHours.parse(d.getClinicTiming()))
+                .orElse(WorkingHours.UNKNOWN));
+    }
+
+    private DoctorCalendar calendar(Long doctorId) {
+        return calendars.computeIfAbsent(key(doctorId), k -> new DoctorCalendar());
+    }
+
+    /** Rows without a doctor belong to the primary doctor */
+    private long key(Long doctorId) {
+        if (doctorId != null) {
+            return doctorId;
+        }
+        Long fallback = resolveDoctorId(null);
+        return fallback != null ? fallback : NO_DOCTOR;
+    }
+
+    static long toMinute(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
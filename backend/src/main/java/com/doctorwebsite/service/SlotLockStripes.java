@@ -0,0 +1,61 @@
+package com.doctorwebsite.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed pool of locks that serializes bookings competing for the same doctor and time,
+ * while bookings for unrelated slots take different stripes and run in parallel.
+ * <p>
+ * Time is cut into buckets one slot long. Two overlapping bookings start less than one slot apart,
+ * so their buckets are equal or adjacent; each booking therefore locks its own bucket and the next one,
+ * which guarantees any two overlapping bookings share at least one stripe. Stripes are always taken in
+ * index order, so two bookings can never deadlock. ReentrantLock (not synchronized) keeps virtual
+ * threads from pinning their carrier while they wait on the insert.
+ */
+final class SlotLockStripes {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    SlotLockStripes(int requestedStripes) {
+        int size = Integer.highestOneBit(Math.max(1, requestedStripes - 1)) << 1;
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        mask = size - 1;
+    }
+
+    <T> T withLock(long doctorKey, long startMinute, int slotMinutes, Supplier<T> action) {
+        long bucket = Math.floorDiv(startMinute, slotMinutes);
+        int a = index(doctorKey, bucket);
+        int b = index(doctorKey, bucket + 1);
+        ReentrantLock first = stripes[Math.min(a, b)];
+        ReentrantLock second = a == b ? null : stripes[Math.max(a, b)];
+
+        first.lock();
+        try {
+            if (second != null) {
+                second.lock();
+            }
+            try {
+                return action.get();
+            } finally {
+                if (second != null) {
+                    second.unlock();
+                }
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
+    private int index(long doctorKey, long bucket) {
+        long h = doctorKey * 0x9E3779B97F4A7C15L + bucket;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,105 @@
+package com.doctorwebsite.service;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets keyed by client (IP address, phone number, ...).
+ * <p>
+ * Each bucket is a single AtomicLong: the upper 40 bits hold the last refill time in milliseconds,
+ * the lower 24 bits the tokens left in thousandths. Taking a token is one compare-and-set.
+ * The key map is bounded: when it is full, buckets that have been idle long enough to be full again
+ * are dropped (indistinguishable from a new client), and if that is not enough, arbitrary ones.
+ */
+public final class TokenBucketLimiter {
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE = 1000;
+
+    private final long capacity;
+    private final double refillPerMilli;
+    private final int maxKeys;
+    private final long origin = System.nanoTime();
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    /**
+     * @param burst           tokens a new or idle client starts with
+     * @param refillPerMinute tokens regained per minute
+     * @param maxKeys         clients tracked at most
+     */
+    public TokenBucketLimiter(int burst, double refillPerMinute, int maxKeys) {
+        if (burst < 1 || burst * ONE > TOKEN_MASK || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("Invalid rate limit: burst " + burst + ", refill " + refillPerMinute);
+        }
+        this.capacity = burst * ONE;
+        this.refillPerMilli = refillPerMinute * ONE / TimeUnit.MINUTES.toMillis(1);
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Take one token for the key.
+     *
+     * @return 0 if allowed, otherwise milliseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = now();
+        AtomicLong bucket = bucket(key, now);
+        while (true) {
+            long state = bucket.get();
+            long tokens = Math.min(capacity, (state & TOKEN_MASK)
+                    + (long) (Math.max(0, now - (state >>> TOKEN_BITS)) * refillPerMilli));
+            if (tokens < ONE) {
+                return Math.max(1, (long) Math.ceil((ONE - tokens) / refillPerMilli));
+            }
+            if (bucket.compareAndSet(state, pack(now, tokens - ONE))) {
+                return 0;
+            }
+        }
+    }
+
+    public int trackedKeys() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            evict(now);
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(pack(now, capacity)));
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long refillMillis = (long) Math.ceil(capacity / refillPerMilli);
+            buckets.values().removeIf(b -> now - (b.get() >>> TOKEN_BITS) >= refillMillis);
+            int excess = buckets.size() - maxKeys * 9 / 10;
+            Iterator<AtomicLong> it = buckets.values().iterator();
+            while (excess-- > 0 && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - origin);
+    }
+
+    private static long pack(long millis, long tokens) {
+        return (millis << TOKEN_BITS) | tokens;
+    }
+}
@@ -0,0 +1,315 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.dto.PatientSearchHit;
+import com.doctorwebsite.entity.Appointment;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram inverted index over patient names and phone digits. Not thread-safe; PatientSearchService
+ * guards it with a read-write lock.
+ * <p>
+ * Every indexed appointment gets a document number, assigned in increasing order, so each posting
+ * list is sorted and can be intersected with binary search. Updates that change the name or phone
+ * retire the old document and append a new one; retired documents are skipped via the live set and
+ * dropped by {@link #compacted()}. A query's trigrams only narrow the candidates — each candidate is
+ * verified against the stored text before it is ranked.
+ */
+final class TrigramIndex {
+
+    /** Marks the start of a word, so two-character queries can match word prefixes */
+    private static final char WORD_START = '\u0002';
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private long[] ids = new long[1024];
+    private String[] names = new String[1024];
+    private String[] nameKeys = new String[1024];
+    private String[] phones = new String[1024];
+    private String[] phoneKeys = new String[1024];
+    private LocalDateTime[] times = new LocalDateTime[1024];
+    private Appointment.AppointmentStatus[] statuses = new Appointment.AppointmentStatus[1024];
+    private int docs;
+
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> docById = new HashMap<>();
+    private final Map<Long, Postings> nameGrams = new HashMap<>();
+    private final Map<Long, Postings> phoneGrams = new HashMap<>();
+
+    // ==================== WRITE ====================
+
+    void upsert(Long id, String name, String phone, LocalDateTime time, Appointment.AppointmentStatus status) {
+        String nameKey = normalizeName(name);
+        String phoneKey = digits(phone);
+        Integer existing = docById.get(id);
+        if (existing != null && nameKey.equals(nameKeys[existing]) && phoneKey.equals(phoneKeys[existing])) {
+            names[existing] = name;
+            phones[existing] = phone;
+            times[existing] = time;
+            statuses[existing] = status;
+            return;
+        }
+        if (existing != null) {
+            live.clear(existing);
+        }
+        int doc = docs++;
+        ensureCapacity(docs);
+        ids[doc] = id;
+        names[doc] = name;
+        nameKeys[doc] = nameKey;
+        phones[doc] = phone;
+        phoneKeys[doc] = phoneKey;
+        times[doc] = time;
+        statuses[doc] = status;
+        live.set(doc);
+        docById.put(id, doc);
+        addGrams(nameGrams, nameKey, doc, true);
+        addGrams(phoneGrams, phoneKey, doc, false);
+    }
+
+    void remove(Long id) {
+        Integer doc = docById.remove(id);
+        if (doc != null) {
+            live.clear(doc);
+        }
+    }
+
+    int size() {
+        return docById.size();
+    }
+
+    /** True once retired documents outnumber live ones enough to be worth a rebuild */
+    boolean needsCompaction() {
+        int dead = docs - docById.size();
+        return dead > 10_000 && dead > docById.size();
+    }
+
+    /** A fresh index holding only the live documents */
+    TrigramIndex compacted() {
+        TrigramIndex fresh = new TrigramIndex();
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            fresh.upsert(ids[doc], names[doc], phones[doc], times[doc], statuses[doc]);
+        }
+        return fresh;
+    }
+
+    // ==================== SEARCH ====================
+
+    /**
+     * Ranked matches for a query: digits-only queries search phone numbers, anything else names.
+     * Best match first; within a score, most recently booked first.
+     */
+    List<PatientSearchHit> search(String query, int offset, int limit, long[] totalOut) {
+        String phoneQuery = digits(query);
+        boolean byPhone = !phoneQuery.isEmpty() && query.replaceAll("[\\d\\s+()\\-]", "").isEmpty();
+        String key = byPhone ? phoneQuery : normalizeName(query);
+        if (key.length() < (byPhone ? 3 : 2)) {
+            throw new IllegalArgumentException(byPhone
+                    ? "Enter at least 3 digits to search by phone."
+                    : "Enter at least 2 letters to search by name.");
+        }
+
+        List<Postings> lists = new ArrayList<>();
+        for (long gram : queryGrams(key, !byPhone)) {
+            Postings postings = (byPhone ? phoneGrams : nameGrams).get(gram);
+            if (postings == null) {
+                totalOut[0] = 0;
+                return List.of();
+            }
+            lists.add(postings);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        // Intersect smallest-first, so the candidate set only shrinks
+        int[] candidates = Arrays.copyOf(lists.get(0).docs, lists.get(0).size);
+        int count = candidates.length;
+        for (int l = 1; l < lists.size() && count > 0; l++) {
+            count = lists.get(l).retainAll(candidates, count);
+        }
+
+        // score in the high bits, document number in the low bits: sorting ranks and breaks ties by recency
+        long[] ranked = new long[count];
+        int matches = 0;
+        for (int i = 0; i < count; i++) {
+            int doc = candidates[i];
+            if (!live.get(doc)) {
+                continue;
+            }
+            int score = byPhone ? phoneScore(phoneKeys[doc], key) : nameScore(nameKeys[doc], key);
+            if (score > 0) {
+                ranked[matches++] = ((long) score << 32) | doc;
+            }
+        }
+        totalOut[0] = matches;
+        Arrays.sort(ranked, 0, matches);
+
+        List<PatientSearchHit> hits = new ArrayList<>(Math.max(0, Math.min(limit, matches - offset)));
+        for (int r = matches - 1 - offset; r >= 0 && hits.size() < limit; r--) {
+            int doc = (int) ranked[r];
+            hits.add(new PatientSearchHit(ids[doc], names[doc], phones[doc], times[doc], statuses[doc],
+                    (int) (ranked[r] >>> 32)));
+        }
+        return hits;
+    }
+
+    /** 4 exact, 3 name prefix, 2 word prefix, 1 substring, 0 no match (trigram false positive) */
+    private static int nameScore(String name, String query) {
+        if (name.equals(query)) {
+            return 4;
+        }
+        if (name.startsWith(query)) {
+            return 3;
+        }
+        if (name.contains(" " + query)) {
+            return 2;
+        }
+        // Two-letter queries only match the start of a word
+        return query.length() >= 3 && name.contains(query) ? 1 : 0;
+    }
+
+    /** 4 exact, 3 local-number suffix, 2 prefix, 1 substring, 0 no match */
+    private static int phoneScore(String phone, String query) {
+        if (phone.equals(query)) {
+            return 4;
+        }
+        if (phone.endsWith(query)) {
+            return 3;
+        }
+        if (phone.startsWith(query)) {
+            return 2;
+        }
+        return phone.contains(query) ? 1 : 0;
+    }
+
+    // ==================== TEXT ====================
+
+    /** Lowercase, accents stripped, runs of anything but letters and digits collapsed to one space */
+    static String normalizeName(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALNUM.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    static String digits(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void addGrams(Map<Long, Postings> index, String text, int doc, boolean wordStarts) {
+        for (long gram : textGrams(text, wordStarts)) {
+            Postings postings = index.computeIfAbsent(gram, g -> new Postings());
+            if (postings.size == 0 || postings.docs[postings.size - 1] != doc) {
+                postings.add(doc);
+            }
+        }
+    }
+
+    /** Every trigram of the text, plus a word-start gram for the first two letters of each word */
+    private static long[] textGrams(String text, boolean wordStarts) {
+        long[] grams = new long[Math.max(0, text.length() - 2) + (wordStarts ? text.length() : 0)];
+        int n = 0;
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams[n++] = gram(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2));
+        }
+        if (wordStarts) {
+            for (int i = 0; i + 2 <= text.length(); i++) {
+                if ((i == 0 || text.charAt(i - 1) == ' ') && text.charAt(i) != ' ' && text.charAt(i + 1) != ' ') {
+                    grams[n++] = gram(WORD_START, text.charAt(i), text.charAt(i + 1));
+                }
+            }
+        }
+        return Arrays.copyOf(grams, n);
+    }
+
+    private static long[] queryGrams(String query, boolean name) {
+        if (name && query.length() < 3) {
+            return new long[]{gram(WORD_START, query.charAt(0), query.charAt(1))};
+        }
+        return Arrays.stream(textGrams(query, false)).distinct().toArray();
+    }
+
+    /**
+     * The three chars packed into one key, then multiplied by an odd constant: still one key per trigram
+     * (the multiplication is invertible), but every char reaches the low bits HashMap buckets by.
+     * The bare packing XORs {@code a} onto {@code c} in Long.hashCode, and digit grams piled into a few
+     * treeified buckets.
+     */
+    private static long gram(char a, char b, char c) {
+        return (((long) a << 32) | ((long) b << 16) | c) * 0x9E3779B97F4A7C15L;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed > ids.length) {
+            int size = Math.max(needed, ids.length * 2);
+            ids = Arrays.copyOf(ids, size);
+            names = Arrays.copyOf(names, size);
+            nameKeys = Arrays.copyOf(nameKeys, size);
+            phones = Arrays.copyOf(phones, size);
+            phoneKeys = Arrays.copyOf(phoneKeys, size);
+            times = Arrays.copyOf(times, size);
+            statuses = Arrays.copyOf(statuses, size);
+        }
+    }
+
+    /** Ascending document numbers containing one trigram */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        /**
+         * Keep only the first {@code count} candidates (ascending) that are also in this list,
+         * galloping through the list so a short candidate set costs little against a long list.
+         *
+         * @return the number of candidates kept, compacted to the front of the array
+         */
+        int retainAll(int[] candidates, int count) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count && from < size; i++) {
+                int doc = candidates[i];
+                int step = 1;
+                int to = from;
+                while (to < size && docs[to] < doc) {
+                    from = to + 1;
+                    to += step;
+                    step <<= 1;
+                }
+                int found = Arrays.binarySearch(docs, from, Math.min(to + 1, size), doc);
+                if (found >= 0) {
+                    candidates[kept++] = doc;
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            return kept;
+        }
+    }
+}
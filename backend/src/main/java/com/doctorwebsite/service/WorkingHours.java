@@ -0,0 +1,128 @@
+package com.doctorwebsite.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Structured clinic opening hours parsed from the free-text {@code Doctor.clinicTiming},
+ * e.g. "Mon - Fri: 9:00 AM – 6:00 PM | Sat: 10:00 AM – 2:00 PM".
+ * Entries are separated by '|' or ';'; each is a day or day range followed by a time range
+ * in 12-hour (with AM/PM) or 24-hour form. Text that cannot be parsed yields {@link #UNKNOWN}.
+ */
+public final class WorkingHours {
+
+    /** Hours could not be determined — no slot grid, and no opening-hours check on bookings */
+    public static final WorkingHours UNKNOWN = new WorkingHours(new EnumMap<>(DayOfWeek.class), false);
+
+    private static final String TIME = "(\\d{1,2}(?::\\d{2})?\\s*(?:[AaPp]\\.?\\s*[Mm]\\.?)?)";
+    private static final Pattern ENTRY = Pattern.compile(
+            "^\\s*([A-Za-z]{3,9})\\.?(?:\\s*(?:-|\\u2013|\\u2014|to)\\s*([A-Za-z]{3,9})\\.?)?\\s*:?\\s*"
+                    + TIME + "\\s*(?:-|\\u2013|\\u2014|to)\\s*" + TIME + "\\s*$");
+
+    private final Map<DayOfWeek, List<OpenInterval>> byDay;
+    private final boolean known;
+
+    private WorkingHours(Map<DayOfWeek, List<OpenInterval>> byDay, boolean known) {
+        this.byDay = byDay;
+        this.known = known;
+    }
+
+    /** Opening interval within one day, [open, close) */
+    public record OpenInterval(LocalTime open, LocalTime close) {
+    }
+
+    public boolean isKnown() {
+        return known;
+    }
+
+    /** Opening intervals for the given weekday, earliest first; empty when closed */
+    public List<OpenInterval> intervals(DayOfWeek day) {
+        return byDay.getOrDefault(day, Collections.emptyList());
+    }
+
+    /** True when [start, end) falls entirely within one opening interval of that day */
+    public boolean covers(DayOfWeek day, LocalTime start, LocalTime end) {
+        for (OpenInterval interval : intervals(day)) {
+            if (!start.isBefore(interval.open()) && !end.isAfter(interval.close()) && start.isBefore(end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static WorkingHours parse(String clinicTiming) {
+        if (clinicTiming == null || clinicTiming.isBlank()) {
+            return UNKNOWN;
+        }
+        Map<DayOfWeek, List<OpenInterval>> byDay = new EnumMap<>(DayOfWeek.class);
+        for (String entry : clinicTiming.split("[|;]")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            Matcher m = ENTRY.matcher(entry);
+            if (!m.matches()) {
+                return UNKNOWN;
+            }
+            DayOfWeek first = parseDay(m.group(1));
+            DayOfWeek last = m.group(2) != null ? parseDay(m.group(2)) : first;
+            LocalTime open = parseTime(m.group(3));
+            LocalTime close = parseTime(m.group(4));
+            if (first == null || last == null || open == null || close == null || !open.isBefore(close)) {
+                return UNKNOWN;
+            }
+            DayOfWeek day = first;
+            while (true) {
+                byDay.computeIfAbsent(day, d -> new ArrayList<>()).add(new OpenInterval(open, close));
+                if (day == last) {
+                    break;
+                }
+                day = day.plus(1);
+            }
+        }
+        if (byDay.isEmpty()) {
+            return UNKNOWN;
+        }
+        byDay.values().forEach(list -> list.sort((a, b) -> a.open().compareTo(b.open())));
+        return new WorkingHours(byDay, true);
+    }
+
+    private static DayOfWeek parseDay(String text) {
+        String prefix = text.substring(0, 3).toUpperCase(Locale.ROOT);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day.name().startsWith(prefix)) {
+                return day;
+            }
+        }
+        return null;
+    }
+
+    private static LocalTime parseTime(String text) {
+        String t = text.replaceAll("[\\s.]", "").toUpperCase(Locale.ROOT);
+        boolean pm = t.endsWith("PM");
+        boolean am = t.endsWith("AM");
+        if (pm || am) {
+            t = t.substring(0, t.length() - 2);
+        }
+        int colon = t.indexOf(':');
+        int hour = Integer.parseInt(colon < 0 ? t : t.substring(0, colon));
+        int minute = colon < 0 ? 0 : Integer.parseInt(t.substring(colon + 1));
+        if (pm || am) {
+            if (hour < 1 || hour > 12) {
+                return null;
+            }
+            hour = hour % 12 + (pm ? 12 : 0);
+        }
+        if (hour > 23 || minute > 59) {
+            return null;
+        }
+        return LocalTime.of(hour, minute);
+    }
+}
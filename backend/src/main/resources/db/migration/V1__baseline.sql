@@ -0,0 +1,51 @@
+-- Baseline: the schema as Hibernate's ddl-auto=update left it before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate), so this
+-- script only runs on an empty schema.
+
+CREATE TABLE users (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    name       VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    role       VARCHAR(255) NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE doctors (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    name             VARCHAR(255) NOT NULL,
+    degree           VARCHAR(255) NOT NULL,
+    specialization   VARCHAR(255) NOT NULL,
+    experience_years INT          NOT NULL,
+    clinic_timing    VARCHAR(255),
+    photo_url        VARCHAR(255),
+    bio              TEXT,
+    clinic_name      VARCHAR(255),
+    consultation_fee DOUBLE,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE services (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    name          VARCHAR(255) NOT NULL,
+    description   TEXT,
+    icon_class    VARCHAR(255),
+    display_order INT,
+    active        BIT          NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_services_name UNIQUE (name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE appointments (
+    id                   BIGINT       NOT NULL AUTO_INCREMENT,
+    patient_name         VARCHAR(255) NOT NULL,
+    phone                VARCHAR(255) NOT NULL,
+    patient_email        VARCHAR(255),
+    appointment_datetime DATETIME(6)  NOT NULL,
+    reason               TEXT,
+    status               VARCHAR(255) NOT NULL,
+    created_at           DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,24 @@
+-- Schema the application gained before migrations were introduced, which a database baselined
+-- at V1 does not have yet.
+
+-- Appointments belong to a doctor (slot engine), and carry an update time and an optimistic-lock version
+ALTER TABLE appointments ADD COLUMN doctor_id BIGINT;
+ALTER TABLE appointments ADD COLUMN updated_at DATETIME(6);
+ALTER TABLE appointments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Older bookings were all made with the clinic's primary doctor (lowest id)
+UPDATE appointments SET doctor_id = (SELECT MIN(id) FROM doctors) WHERE doctor_id IS NULL;
+
+-- Contact form submissions, loaded from the on-disk contact journal; its position makes the load idempotent
+CREATE TABLE contact_messages (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    name            VARCHAR(255) NOT NULL,
+    email           VARCHAR(255) NOT NULL,
+    phone           VARCHAR(255),
+    message         TEXT         NOT NULL,
+    submitted_at    DATETIME(6)  NOT NULL,
+    journal_segment BIGINT       NOT NULL,
+    journal_offset  BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_contact_journal_position UNIQUE (journal_segment, journal_offset)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,13 @@
+-- Indexes for the appointment queries (mirrored in Appointment's @Table for the H2 profile).
+
+-- Admin status filter, optionally with a date range; status counts
+CREATE INDEX idx_appointments_status_datetime ON appointments (status, appointment_datetime);
+
+-- Date-range filter without status; slot calendar rebuild (appointment_datetime >= now)
+CREATE INDEX idx_appointments_datetime ON appointments (appointment_datetime);
+
+-- Lookups by phone number
+CREATE INDEX idx_appointments_phone ON appointments (phone);
+
+-- Keyset pagination of the admin listing: ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_appointments_created_id ON appointments (created_at, id);
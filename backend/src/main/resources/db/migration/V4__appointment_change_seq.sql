@@ -0,0 +1,20 @@
+-- Change feed for delta sync (GET /api/appointments/changes); mirrored in the entities' @Table for H2.
+
+-- Sequence number of each appointment's latest write
+ALTER TABLE appointments ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+-- Existing rows count as changed in id order, so a client starting from 0 receives all of them
+UPDATE appointments SET change_seq = id;
+
+-- Changes since a cursor: WHERE change_seq > ? ORDER BY change_seq
+CREATE INDEX idx_appointments_change_seq ON appointments (change_seq);
+
+-- Deleted appointments, so clients holding them learn to drop them
+CREATE TABLE appointment_tombstones (
+    appointment_id BIGINT      NOT NULL,
+    change_seq     BIGINT      NOT NULL,
+    deleted_at     DATETIME(6) NOT NULL,
+    PRIMARY KEY (appointment_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE INDEX idx_appointment_tombstones_change_seq ON appointment_tombstones (change_seq);
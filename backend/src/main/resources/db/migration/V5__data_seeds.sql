@@ -0,0 +1,7 @@
+-- Seed data already applied at startup (DataSeeder); mirrored by the DataSeed entity for H2.
+-- Databases seeded by an older build get their row on the next start.
+CREATE TABLE data_seeds (
+    name      VARCHAR(64) NOT NULL,
+    seeded_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
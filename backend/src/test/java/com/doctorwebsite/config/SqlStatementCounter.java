@@ -0,0 +1,136 @@
+package com.doctorwebsite.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Counts the SQL statements the application runs, for the @SqlBudget tests.
+ * <p>
+ * Wraps the application's data source, so every statement is seen whoever issues it: Hibernate,
+ * JdbcTemplate batches (bulk import, group commit) and work on other threads (the group-commit
+ * flusher, the import writer, the export's response thread). The count is global, not per thread,
+ * so a test must not run other requests while it counts. Register with {@code @Import}.
+ * <p>
+ * Prepared statements are recorded with the parameters bound when they ran, so a test can run the
+ * exact statement again (QueryIndexTest prefixes it with EXPLAIN).
+ */
+public class SqlStatementCounter implements BeanPostProcessor {
+
+    /** One statement run: its SQL ("batch" for a plain JDBC batch) and the parameter setter calls before it */
+    public record Executed(String sql, List<Binding> bindings) {
+
+        /** Bind the same parameters on another statement */
+        public void bind(PreparedStatement statement) throws SQLException {
+            for (Binding binding : bindings) {
+                try {
+                    binding.setter().invoke(statement, binding.args());
+                } catch (ReflectiveOperationException e) {
+                    throw new SQLException("Could not replay " + binding.setter().getName(), e);
+                }
+            }
+        }
+    }
+
+    /** A PreparedStatement.set*(index, value...) call */
+    public record Binding(Method setter, Object[] args) {
+    }
+
+    private final List<Executed> statements = Collections.synchronizedList(new ArrayList<>());
+
+    public void reset() {
+        statements.clear();
+    }
+
+    public int count() {
+        return statements.size();
+    }
+
+    /** Statements run since the last reset, oldest first */
+    public List<String> statements() {
+        synchronized (statements) {
+            return statements.stream().map(Executed::sql).toList();
+        }
+    }
+
+    /** Statements run since the last reset with their parameters, oldest first */
+    public List<Executed> executed() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return proxy(Connection.class, super.getConnection(), null);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return proxy(Connection.class, super.getConnection(username, password), null);
+            }
+        };
+    }
+
+    /**
+     * Connections hand out counting statements; statements record every execute* call,
+     * a JDBC batch counting once (with the parameters of its last row).
+     */
+    private <T> T proxy(Class<T> type, T target, String preparedSql) {
+        List<Binding> bindings = new ArrayList<>();
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (name.equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (name.startsWith("execute") && type != Connection.class) {
+                        statements.add(new Executed(preparedSql != null ? preparedSql
+                                : args != null && args.length > 0 && args[0] instanceof String sql ? sql : "batch",
+                                List.copyOf(bindings)));
+                    } else if (name.startsWith("set") && args != null && args.length > 1
+                            && args[0] instanceof Integer && preparedSql != null) {
+                        bindings.add(new Binding(method, args.clone()));
+                    } else if (name.equals("clearParameters")) {
+                        bindings.clear();
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (type == Connection.class && name.equals("createStatement")) {
+                        return wrapStatement(method.getReturnType(), result, null);
+                    }
+                    if (type == Connection.class && (name.equals("prepareStatement") || name.equals("prepareCall"))) {
+                        return wrapStatement(method.getReturnType(), result, (String) args[0]);
+                    }
+                    return result;
+                }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T wrapStatement(Class<T> type, Object statement, String sql) {
+        return proxy(type, (T) statement, sql);
+    }
+}
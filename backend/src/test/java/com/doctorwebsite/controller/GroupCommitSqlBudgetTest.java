@@ -0,0 +1,49 @@
+package com.doctorwebsite.controller;
+
+import com.doctorwebsite.config.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * With group commit on, a booking's insert runs on the flusher thread as a JDBC batch;
+ * it still counts against POST /api/appointments.
+ */
+@SpringBootTest(properties = "app.booking.group-commit.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles({"h2", "test"})
+@Import(SqlStatementCounter.class)
+class GroupCommitSqlBudgetTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private SqlStatementCounter sql;
+
+    @Test
+    void bookingInsertOnFlusherThreadIsCounted() throws Exception {
+        LocalDate monday = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        sql.reset();
+        MvcResult result = mvc.perform(post("/api/appointments").contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"patientName":"Group Commit","phone":"01711111111","appointmentDatetime":"%s"}
+                        """.formatted(monday.atTime(10, 0)))).andReturn();
+
+        assertEquals(201, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+        assertEquals(1, sql.count(), () -> "Statements: " + sql.statements());
+    }
+}
@@ -0,0 +1,265 @@
+package com.doctorwebsite.controller;
+
+import com.doctorwebsite.config.SqlBudget;
+import com.doctorwebsite.config.SqlStatementCounter;
+import com.doctorwebsite.service.CatalogCache;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Exact number of SQL statements each endpoint runs, counted on every thread (see SqlStatementCounter).
+ * Catalog caches are dropped before each counted request; the slot engine is warm from startup.
+ * A changed count means a query was added or removed: update the expected number here, and the
+ * endpoint's {@link SqlBudget} if it no longer fits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"h2", "test"})
+@Import(SqlStatementCounter.class)
+class SqlBudgetTest {
+
+    private static final String ADMIN = "admin123";
+    private static final LocalDate NEXT_MONDAY =
+            LocalDate.now().plusWeeks(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+    /** Bookings made so far in this context; each one takes its own slot and phone number */
+    private static final AtomicInteger BOOKINGS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private SqlStatementCounter sql;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    // ==================== CATALOG ====================
+
+    @Test
+    void listDoctors() throws Exception {
+        assertStatements(1, get("/api/doctors"));
+    }
+
+    @Test
+    void getDoctor() throws Exception {
+        assertStatements(1, get("/api/doctors/1"));
+    }
+
+    @Test
+    void freeSlotsAnsweredBySlotEngine() throws Exception {
+        assertStatements(0, get("/api/doctors/1/slots").param("date", NEXT_MONDAY.toString()));
+    }
+
+    @Test
+    void searchDoctors() throws Exception {
+        assertStatements(0, get("/api/doctors/search").param("q", "card"));
+    }
+
+    @Test
+    void suggestDoctors() throws Exception {
+        assertStatements(0, get("/api/doctors/search/suggest").param("prefix", "card"));
+    }
+
+    @Test
+    void listServices() throws Exception {
+        assertStatements(1, get("/api/services"));
+    }
+
+    @Test
+    void getService() throws Exception {
+        assertStatements(1, get("/api/services/1"));
+    }
+
+    @Test
+    void submitContactOnlyAppendsToJournal() throws Exception {
+        assertStatements(0, post("/api/contact").contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"name":"Budget Check","email":"budget@example.com","message":"hello"}
+                        """));
+    }
+
+    // ==================== APPOINTMENTS ====================
+
+    @Test
+    void bookAppointment() throws Exception {
+        assertStatements(1, booking());
+    }
+
+    @Test
+    void listAppointments() throws Exception {
+        book();
+        assertStatements(1, admin(get("/api/appointments")).param("limit", "50"));
+    }
+
+    @Test
+    void statsFromCounters() throws Exception {
+        assertStatements(0, admin(get("/api/appointments/stats")));
+    }
+
+    @Test
+    void calendarOutsideCachedWeek() throws Exception {
+        assertStatements(1, admin(get("/api/appointments/calendar"))
+                .param("from", NEXT_MONDAY.toString())
+                .param("to", NEXT_MONDAY.plusWeeks(1).toString()));
+    }
+
+    @Test
+    void exportRunsOneQueryOnResponseThread() throws Exception {
+        book();
+        assertStatements(1, admin(get("/api/appointments/export")).param("format", "csv"));
+    }
+
+    @Test
+    void changesSinceStart() throws Exception {
+        book();
+        assertStatements(2, admin(get("/api/appointments/changes")).param("since", "0"));
+    }
+
+    @Test
+    void eventsSubscribeWithoutQueries() throws Exception {
+        sql.reset();
+        MvcResult result = mvc.perform(admin(get("/api/appointments/events"))).andReturn();
+        assertTrue(result.getRequest().isAsyncStarted());
+        assertEquals(0, sql.count(), () -> "Statements: " + sql.statements());
+    }
+
+    @Test
+    void searchPatientsFromIndex() throws Exception {
+        book();
+        assertStatements(0, admin(get("/api/appointments/search")).param("q", "budget"));
+    }
+
+    @Test
+    void getAppointment() throws Exception {
+        long id = book();
+        assertStatements(1, admin(get("/api/appointments/" + id)));
+    }
+
+    @Test
+    void updateStatus() throws Exception {
+        long id = book();
+        assertStatements(3, admin(put("/api/appointments/" + id + "/status"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"CONFIRMED\"}"));
+    }
+
+    @Test
+    void deleteAppointment() throws Exception {
+        long id = book();
+        assertStatements(3, admin(delete("/api/appointments/" + id)));
+    }
+
+    // ==================== IMPORT ====================
+
+    @Test
+    void importAppointmentsOneChunk() throws Exception {
+        assertStatements(2, admin(post("/api/import/appointments")).param("format", "csv")
+                .contentType("text/csv")
+                .content("patient_name,phone,appointment_datetime\n"
+                        + "Budget Import,01700000001," + NEXT_MONDAY.minusWeeks(2).atTime(9, 0) + "\n"));
+    }
+
+    @Test
+    void importServicesOneChunk() throws Exception {
+        assertStatements(1, admin(post("/api/import/services")).param("format", "ndjson")
+                .contentType("application/x-ndjson")
+                .content("{\"name\":\"Budget Import Service " + System.nanoTime() + "\"}\n"));
+    }
+
+    // ==================== COVERAGE ====================
+
+    @Test
+    void everyHandlerHasBudget() {
+        List<String> missing = new ArrayList<>();
+        handlerMapping.getHandlerMethods().forEach((info, handler) -> {
+            if (handler.getBeanType().getPackageName().startsWith("com.doctorwebsite")
+                    && !handler.hasMethodAnnotation(SqlBudget.class)) {
+                missing.add(handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName());
+            }
+        });
+        assertEquals(List.of(), missing, "Handlers without @SqlBudget");
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Run the request on cold catalog caches, wait for any async part of the response, and check that
+     * it ran exactly {@code expected} statements and stayed within the handler's budget.
+     */
+    private void assertStatements(int expected, MockHttpServletRequestBuilder request) throws Exception {
+        catalogCache.invalidate(CatalogCache.Catalog.DOCTORS);
+        catalogCache.invalidate(CatalogCache.Catalog.SERVICES);
+        sql.reset();
+        MvcResult result = mvc.perform(request).andReturn();
+        HandlerMethod handler = (HandlerMethod) result.getHandler();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mvc.perform(asyncDispatch(result)).andReturn();
+        }
+        int status = result.getResponse().getStatus();
+        String body = result.getResponse().getContentAsString();
+        assertTrue(status < 400, () -> "HTTP " + status + " " + body);
+
+        int count = sql.count();
+        assertEquals(expected, count, () -> "Statements: " + sql.statements());
+        SqlBudget budget = handler.getMethodAnnotation(SqlBudget.class);
+        assertNotNull(budget, () -> handler + " has no @SqlBudget");
+        assertTrue(count <= budget.value(),
+                () -> handler + " ran " + count + " statements, budget is " + budget.value());
+    }
+
+    private static MockHttpServletRequestBuilder admin(MockHttpServletRequestBuilder request) {
+        return request.param("adminPassword", ADMIN);
+    }
+
+    /** A booking request for the next free slot of the seeded doctor (Mon-Fri 9:00-17:00, 30 minutes) */
+    private static MockHttpServletRequestBuilder booking() {
+        int n = BOOKINGS.getAndIncrement();
+        LocalDateTime start = NEXT_MONDAY.plusDays(n / 16).atTime(9, 0).plusMinutes(30L * (n % 16));
+        return post("/api/appointments").contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"patientName":"Budget Check","phone":"0170%07d","appointmentDatetime":"%s","reason":"budget"}
+                        """.formatted(n, start));
+    }
+
+    /** Book outside any count and return the new appointment's id */
+    private long book() throws Exception {
+        MvcResult result = mvc.perform(booking()).andReturn();
+        String body = result.getResponse().getContentAsString();
+        assertEquals(201, result.getResponse().getStatus(), body);
+        return ((Number) JsonPath.read(body, "$.data.id")).longValue();
+    }
+}
@@ -0,0 +1,189 @@
+package com.doctorwebsite.repository;
+
+import com.doctorwebsite.config.SqlStatementCounter;
+import com.doctorwebsite.entity.Appointment;
+import com.doctorwebsite.service.AppointmentExportService;
+import com.doctorwebsite.service.DataFormat;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Every appointment query uses an index: runs the repository method, takes the SQL and parameters
+ * it actually sent (see SqlStatementCounter) and checks H2's EXPLAIN of that statement names one of the
+ * expected indexes. The H2 schema is built from Appointment's @Table, which mirrors
+ * db/migration/V3__appointment_indexes.sql and V4__appointment_change_seq.sql.
+ * A few thousand rows are loaded and analyzed first, so the optimizer has statistics to choose with.
+ */
+@SpringBootTest
+@ActiveProfiles({"h2", "test"})
+@Import(SqlStatementCounter.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryIndexTest {
+
+    private static final int ROWS = 5000;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 5, 9, 0);
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 2, 10, 0, 0);
+    private static final LocalDateTime TO = FROM.plusWeeks(1);
+    /** Later than every seeded created_at, so the first page starts at the newest row */
+    private static final LocalDateTime FIRST_PAGE = LocalDateTime.of(2026, 3, 10, 0, 0);
+
+    private static final String STATUS_DATETIME = "idx_appointments_status_datetime";
+    private static final String DATETIME = "idx_appointments_datetime";
+    private static final String CREATED_ID = "idx_appointments_created_id";
+
+    @Autowired
+    private SqlStatementCounter sql;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private AppointmentBatchWriter batchWriter;
+
+    @Autowired
+    private AppointmentExportService exportService;
+
+    @BeforeAll
+    void seed() {
+        Appointment.AppointmentStatus[] statuses = Appointment.AppointmentStatus.values();
+        for (int from = 0; from < ROWS; from += 1000) {
+            List<Appointment> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(ROWS, from + 1000); i++) {
+                Appointment a = new Appointment();
+                a.setPatientName("Index Patient " + i);
+                a.setPhone(String.format("0174%07d", i));
+                a.setAppointmentDatetime(START.plusMinutes(30L * i));
+                a.setReason("index");
+                a.setStatus(statuses[i % statuses.length]);
+                a.setCreatedAt(START.minusDays(30).plusMinutes(i));
+                a.setChangeSeq(2L * i + 1);
+                batch.add(a);
+            }
+            transactionTemplate.executeWithoutResult(status -> batchWriter.insertAll(batch));
+        }
+        // Tombstones take the even change numbers
+        jdbcTemplate.batchUpdate("INSERT INTO appointment_tombstones (appointment_id, change_seq, deleted_at) VALUES (?, ?, ?)",
+                LongStream.range(0, ROWS).mapToObj(i -> new Object[]{
+                        1_000_000 + i, 2 * i + 2, Timestamp.valueOf(START)}).toList());
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void findByStatus() throws SQLException {
+        assertUsesIndex(() -> appointmentRepository.findByStatus(Appointment.AppointmentStatus.PENDING),
+                STATUS_DATETIME);
+    }
+
+    @Test
+    void findPageWithStatusAndDates() throws SQLException {
+        assertUsesIndex(() -> appointmentRepository.findPage(Appointment.AppointmentStatus.PENDING, FROM, TO, null,
+                FIRST_PAGE, Long.MAX_VALUE, PageRequest.of(0, 51)), STATUS_DATETIME);
+    }
+
+    @Test
+    void findPageWithDates() throws SQLException {
+        assertUsesIndex(() -> appointmentRepository.findPage(null, FROM, TO, null,
+                FIRST_PAGE, Long.MAX_VALUE, PageRequest.of(0, 51)), DATETIME);
+    }
+
+    @Test
+    void findPageUnfiltered() throws SQLException {
+        assertUsesIndex(() -> appointmentRepository.findPage(null, null, null, null,
+                FIRST_PAGE.minusDays(40), 1000L, PageRequest.of(0, 51)), CREATED_ID);
+    }
+
+    @Test
+    void findSlotBookingsFrom() throws SQLException {
+        assertUsesIndex(() -> appointmentRepository.findSlotBookingsFrom(FROM, Appointment.AppointmentStatus.CANCELLED),
+                DATETIME, STATUS_DATETIME);
+    }
+
+    @Test
+    void exportWithDates() throws SQLException {
+        assertUsesIndex(() -> exportService.export(new AppointmentExportService.Query(null, FROM, TO),
+                DataFormat.CSV, OutputStream.nullOutputStream()), DATETIME);
+    }
+
+    @Test
+    void countCalendarCells() throws SQLException {
+        assertUsesIndex(() -> appointmentRepository.countCalendarCells(FROM, TO), DATETIME);
+    }
+
+    @Test
+    void countGroupedByStatus() throws SQLException {
+        assertUsesIndex(() -> appointmentRepository.countGroupedByStatus(), STATUS_DATETIME);
+    }
+
+    @Test
+    void findChangedBetween() throws SQLException {
+        assertUsesIndex(() -> appointmentRepository.findChangedBetween(4900, 5000, PageRequest.of(0, 1001)),
+                "idx_appointments_change_seq");
+    }
+
+    @Test
+    void tombstonesFindChangedBetween() throws SQLException {
+        assertUsesIndex(() -> tombstoneRepository.findChangedBetween(4900, 5000, PageRequest.of(0, 1001)),
+                "idx_appointment_tombstones_change_seq");
+    }
+
+    /** Run the query, then EXPLAIN the SELECT it sent with the same parameters */
+    private void assertUsesIndex(Runnable query, String... indexes) throws SQLException {
+        sql.reset();
+        query.run();
+        SqlStatementCounter.Executed select = sql.executed().stream()
+                .filter(e -> e.sql().stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No SELECT among " + sql.statements()));
+
+        String plan;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + select.sql())) {
+            select.bind(explain);
+            try (ResultSet rs = explain.executeQuery()) {
+                if (!rs.next()) {
+                    fail("EXPLAIN returned no plan for " + select.sql());
+                }
+                plan = rs.getString(1);
+            }
+        }
+        String normalized = plan.toLowerCase(Locale.ROOT);
+        assertTrue(List.of(indexes).stream().anyMatch(normalized::contains),
+                () -> "Expected one of " + List.of(indexes) + ", plan was: " + plan.replaceAll("\\s+", " "));
+    }
+}
@@ -0,0 +1,100 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.dto.ApiResponse;
+import com.doctorwebsite.exception.GlobalExceptionHandler;
+import com.doctorwebsite.exception.ServiceUnavailableException;
+import com.doctorwebsite.exception.TooManyRequestsException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The 429 (rate limit) and 503 (load shedding) paths, on a service built by hand
+ * (the test profile turns both off for the Spring tests).
+ */
+class AdmissionControlServiceTest {
+
+    private final HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+    private AdmissionControlService admission;
+
+    @BeforeEach
+    void setUp() {
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        admission = new AdmissionControlService(dataSource);
+        ReflectionTestUtils.setField(admission, "enabled", true);
+        ReflectionTestUtils.setField(admission, "ipBurst", 2);
+        ReflectionTestUtils.setField(admission, "ipPerMinute", 1.0);
+        ReflectionTestUtils.setField(admission, "phoneBurst", 1);
+        ReflectionTestUtils.setField(admission, "phonePerMinute", 1.0);
+        ReflectionTestUtils.setField(admission, "maxTrackedClients", 100);
+        ReflectionTestUtils.setField(admission, "maxPoolWaiters", 5);
+        admission.init();
+    }
+
+    @Test
+    void clientOverItsBurstGets429WithRetryAfter() {
+        admission.admitClient("10.0.0.1");
+        admission.admitClient("10.0.0.1");
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> admission.admitClient("10.0.0.1"));
+        assertTrue(ex.getRetryAfterSeconds() >= 1);
+        assertDoesNotThrow(() -> admission.admitClient("10.0.0.2"));
+
+        ResponseEntity<ApiResponse<Void>> response = new GlobalExceptionHandler().handleTooManyRequests(ex);
+        assertEquals(429, response.getStatusCode().value());
+        assertEquals(Long.toString(ex.getRetryAfterSeconds()), response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void phoneLimitIgnoresFormatting() {
+        admission.admitPhone("01700-000 001");
+        assertThrows(TooManyRequestsException.class, () -> admission.admitPhone("01700000001"));
+        assertDoesNotThrow(() -> admission.admitPhone("01700000002"));
+    }
+
+    @Test
+    void phoneWithoutDigitsIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> admission.admitPhone("-------"));
+        assertThrows(IllegalArgumentException.class, () -> admission.admitPhone("+++ +++"));
+    }
+
+    @Test
+    void queueForConnectionsOverLimitGets503() {
+        when(pool.getThreadsAwaitingConnection()).thenReturn(6);
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> admission.admitClient("10.0.0.3"));
+
+        ResponseEntity<ApiResponse<Void>> response = new GlobalExceptionHandler().handleServiceUnavailable(ex);
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals(Long.toString(ex.getRetryAfterSeconds()), response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void queueAtLimitIsAdmitted() {
+        when(pool.getThreadsAwaitingConnection()).thenReturn(5);
+        assertDoesNotThrow(() -> admission.admitClient("10.0.0.4"));
+    }
+
+    @Test
+    void disabledRateLimitStillSheds() {
+        ReflectionTestUtils.setField(admission, "enabled", false);
+        for (int i = 0; i < 10; i++) {
+            admission.admitClient("10.0.0.5");
+            admission.admitPhone("01700000003");
+        }
+        when(pool.getThreadsAwaitingConnection()).thenReturn(50);
+        assertThrows(ServiceUnavailableException.class, () -> admission.admitClient("10.0.0.5"));
+    }
+}
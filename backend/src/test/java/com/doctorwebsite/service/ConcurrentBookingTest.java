@@ -0,0 +1,96 @@
+package com.doctorwebsite.service;
+
+import com.doctorwebsite.dto.AppointmentDTO;
+import com.doctorwebsite.entity.Appointment;
+import com.doctorwebsite.exception.SlotUnavailableException;
+import com.doctorwebsite.repository.AppointmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Many threads booking the same few slots at once: each slot must end up with exactly one appointment,
+ * every other attempt failing with SlotUnavailableException.
+ */
+@SpringBootTest
+@ActiveProfiles({"h2", "test"})
+class ConcurrentBookingTest {
+
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_SLOT = 50;
+
+    /** A Wednesday three weeks out, clear of the days other tests sharing the context book */
+    private static final LocalDate DAY =
+            LocalDate.now().plusWeeks(3).with(TemporalAdjusters.previousOrSame(DayOfWeek.WEDNESDAY));
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Test
+    void sameSlotIsBookedOnce() throws Exception {
+        assertOneBookingPerSlot(List.of(DAY.atTime(10, 0)));
+    }
+
+    @Test
+    void neighbouringSlotsAreEachBookedOnce() throws Exception {
+        assertOneBookingPerSlot(List.of(DAY.atTime(14, 0), DAY.atTime(14, 30), DAY.atTime(15, 0), DAY.atTime(15, 30)));
+    }
+
+    private void assertOneBookingPerSlot(List<LocalDateTime> slots) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < slots.size() * ATTEMPTS_PER_SLOT; i++) {
+                AppointmentDTO dto = new AppointmentDTO("Concurrent " + i, String.format("0180%07d", i),
+                        null, slots.get(i % slots.size()), "race", null);
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        appointmentService.bookAppointment(dto);
+                        return true;
+                    } catch (SlotUnavailableException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int booked = 0;
+            for (Future<Boolean> attempt : attempts) {
+                if (attempt.get(60, TimeUnit.SECONDS)) {
+                    booked++;
+                }
+            }
+            assertEquals(slots.size(), booked, "successful bookings");
+        } finally {
+            pool.shutdownNow();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        Map<LocalDateTime, Long> rowsPerSlot = appointmentRepository.findAll().stream()
+                .filter(a -> slots.contains(a.getAppointmentDatetime()))
+                .collect(Collectors.groupingBy(Appointment::getAppointmentDatetime, Collectors.counting()));
+        slots.forEach(slot -> assertEquals(1L, rowsPerSlot.get(slot), () -> "appointments at " + slot));
+    }
+}
@@ -0,0 +1,54 @@
+package com.doctorwebsite.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTest {
+
+    @Test
+    void allowsBurstThenReportsWait() {
+        // One token per second after the burst
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 60, 100);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        }
+        long wait = limiter.tryAcquire("10.0.0.1");
+        assertTrue(wait >= 1 && wait <= 1000, "wait " + wait);
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 100);
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        // 100 tokens per second: an empty bucket has a token again after 10 ms
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 6000, 100);
+        assertEquals(0, limiter.tryAcquire("a"));
+        Thread.sleep(50);
+        assertEquals(0, limiter.tryAcquire("a"));
+    }
+
+    @Test
+    void tracksAtMostMaxKeys() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 10);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.tryAcquire("client-" + i));
+        }
+        assertTrue(limiter.trackedKeys() <= 10, "tracked " + limiter.trackedKeys());
+    }
+
+    @Test
+    void rejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(0, 10, 100));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(10, 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1 << 24, 10, 100));
+    }
+}
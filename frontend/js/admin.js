@@ -11,8 +11,13 @@ document.addEventListener('DOMContentLoaded', () => {
     const tbody = document.getElementById('appointmentsTableBody');
     const loadingEl = document.getElementById('loadingSpinner');
     const emptyEl = document.getElementById('emptyState');
+    const loadMoreBtn = document.getElementById('loadMoreBtn');
 
     let adminPassword = '';
+    let statusFilter = '';
+    let nextCursor = null;
+    let events = null;
+    let changeCursor = null;
 
     // ==================== LOGIN ====================
     if (loginForm) {
@@ -24,11 +29,12 @@ document.addEventListener('DOMContentLoaded', () => {
             loginBtn.innerHTML = '<i class="fas fa-spinner fa-spin"></i> Verifying...';
 
             try {
-                await apiFetch(`${API_BASE_URL}/api/appointments?adminPassword=${encodeURIComponent(adminPassword)}`);
+                await apiFetch(`${API_BASE_URL}/api/appointments?adminPassword=${encodeURIComponent(adminPassword)}&limit=1`);
                 // Access granted
                 loginOverlay.style.display = 'none';
                 adminPanel.style.display = 'block';
                 await loadAppointments();
+                connectEvents();
             } catch {
                 showToast('Invalid admin password. Please try again.', 'error');
             } finally {
@@ -42,6 +48,8 @@ document.addEventListener('DOMContentLoaded', () => {
     if (logoutBtn) {
         logoutBtn.addEventListener('click', () => {
             adminPassword = '';
+            if (events) { events.close(); events = null; }
+            changeCursor = null;
             adminPanel.style.display = 'none';
             loginOverlay.style.display = 'flex';
             document.getElementById('adminPasswordInput').value = '';
@@ -49,26 +57,37 @@ document.addEventListener('DOMContentLoaded', () => {
     }
 
     // ==================== LOAD APPOINTMENTS ====================
+    // Pages are fetched newest first from the server; "Load more" follows nextCursor.
+    function pageUrl(cursor) {
+        let url = `${API_BASE_URL}/api/appointments?adminPassword=${encodeURIComponent(adminPassword)}`;
+        if (statusFilter) url += `&status=${encodeURIComponent(statusFilter)}`;
+        if (cursor) url += `&cursor=${encodeURIComponent(cursor)}`;
+        return url;
+    }
+
     async function loadAppointments() {
         if (loadingEl) loadingEl.style.display = 'flex';
         if (emptyEl) emptyEl.style.display = 'none';
+        if (loadMoreBtn) loadMoreBtn.style.display = 'none';
         if (tbody) tbody.innerHTML = '';
+        nextCursor = null;
 
         try {
-            const res = await apiFetch(`${API_BASE_URL}/api/appointments?adminPassword=${encodeURIComponent(adminPassword)}`);
-            const appointments = res.data || [];
+            const res = await apiFetch(pageUrl(null));
+            const page = res.data || { items: [] };
+            const appointments = page.items || [];
 
             // Update stat counters
-            updateStats(appointments);
+            updateStats();
+            updateWeek();
 
             if (appointments.length === 0) {
                 if (emptyEl) emptyEl.style.display = 'block';
                 return;
             }
 
-            // Sort newest first
-            appointments.sort((a, b) => new Date(b.createdAt) - new Date(a.createdAt));
             appointments.forEach(appt => renderRow(appt));
+            setNextCursor(page);
 
         } catch (err) {
             showToast('Failed to load appointments: ' + err.message, 'error');
@@ -77,9 +96,34 @@ document.addEventListener('DOMContentLoaded', () => {
         }
     }
 
+    async function loadMore() {
+        if (!nextCursor) return;
+        if (loadMoreBtn) loadMoreBtn.disabled = true;
+        try {
+            const res = await apiFetch(pageUrl(nextCursor));
+            const page = res.data || { items: [] };
+            (page.items || []).forEach(renderRow);
+            setNextCursor(page);
+        } catch (err) {
+            showToast('Failed to load more: ' + err.message, 'error');
+        } finally {
+            if (loadMoreBtn) loadMoreBtn.disabled = false;
+        }
+    }
+
+    function setNextCursor(page) {
+        nextCursor = page.hasMore ? page.nextCursor : null;
+        if (loadMoreBtn) loadMoreBtn.style.display = nextCursor ? 'inline-flex' : 'none';
+    }
+
+    if (loadMoreBtn) loadMoreBtn.addEventListener('click', loadMore);
+
     // ==================== RENDER ROW ====================
     function renderRow(a) {
-        if (!tbody) return;
+        if (tbody) tbody.appendChild(buildRow(a));
+    }
+
+    function buildRow(a) {
         const dt = a.appointmentDatetime
             ? new Date(a.appointmentDatetime).toLocaleString('en-BD', { dateStyle: 'medium', timeStyle: 'short' })
             : '—';
@@ -89,13 +133,14 @@ document.addEventListener('DOMContentLoaded', () => {
 
         const row = document.createElement('tr');
         row.id = `row-${a.id}`;
+        row.dataset.created = a.createdAt || '';
         row.innerHTML = `
       <td><strong>#${a.id}</strong></td>
       <td>${escHtml(a.patientName)}</td>
       <td>${escHtml(a.phone)}</td>
       <td>${a.patientEmail ? escHtml(a.patientEmail) : '<span style="color:#9ca3af">—</span>'}</td>
       <td>${dt}</td>
-      <td>${a.reason ? escHtml(a.reason) : '<span style="color:#9ca3af">—</span>'}</td>
+      <td id="reason-${a.id}">${a.hasReason ? `<button class="btn-confirm" onclick="showReason(${a.id})"><i class="fas fa-eye"></i> View</button>` : '<span style="color:#9ca3af">—</span>'}</td>
       <td><span class="badge-status badge-${a.status?.toLowerCase()}">${a.status}</span></td>
       <td>${created}</td>
       <td>
@@ -106,24 +151,146 @@ document.addEventListener('DOMContentLoaded', () => {
         </div>
       </td>
     `;
-        tbody.appendChild(row);
+        return row;
+    }
+
+    // ==================== LIVE EVENTS ====================
+    // The server pushes every booking, status change and delete; rows are patched in place
+    // instead of reloading the list. After a reconnect or a "resync" (events were dropped) only
+    // the changes since the last known change cursor are fetched. "imported" reloads the list.
+    function connectEvents() {
+        if (!window.EventSource || events) return;
+        events = new EventSource(`${API_BASE_URL}/api/appointments/events?adminPassword=${encodeURIComponent(adminPassword)}`);
+        events.addEventListener('ready', e => {
+            const cursor = JSON.parse(e.data).cursor;
+            // First connect: the list was just loaded. Reconnect: catch up from where we were.
+            if (changeCursor === null) changeCursor = cursor;
+            else syncChanges();
+        });
+        events.addEventListener('booked', e => applyChanged(JSON.parse(e.data).appointment));
+        events.addEventListener('status', e => applyChanged(JSON.parse(e.data).appointment));
+        events.addEventListener('deleted', e => applyDeleted(JSON.parse(e.data).id));
+        events.addEventListener('imported', scheduleReload);
+        events.addEventListener('resync', syncChanges);
+    }
+
+    function applyChanged(a) {
+        if (!tbody) return;
+        const row = document.getElementById(`row-${a.id}`);
+        if (row) {
+            if (matchesFilter(a)) row.replaceWith(buildRow(a));
+            else row.remove();
+        } else if (matchesFilter(a) && (a.createdAt || '') >= (tbody.firstElementChild?.dataset.created || '')) {
+            // New bookings go on top; older rows outside the loaded pages are left to "Load more"
+            tbody.prepend(buildRow(a));
+            if (emptyEl) emptyEl.style.display = 'none';
+        }
+        scheduleSummaries();
+    }
+
+    function applyDeleted(id) {
+        document.getElementById(`row-${id}`)?.remove();
+        scheduleSummaries();
+    }
+
+    // Fetch and apply everything changed since changeCursor; falls back to a full reload
+    let syncing = false;
+    async function syncChanges() {
+        if (syncing || changeCursor === null) return;
+        syncing = true;
+        try {
+            for (let pages = 0; pages < 20; pages++) {
+                const res = await apiFetch(`${API_BASE_URL}/api/appointments/changes?adminPassword=${encodeURIComponent(adminPassword)}&since=${changeCursor}`);
+                const diff = res.data;
+                diff.changed.forEach(applyChanged);
+                diff.deleted.forEach(applyDeleted);
+                changeCursor = diff.cursor;
+                if (!diff.hasMore) return;
+            }
+            scheduleReload();
+        } catch {
+            scheduleReload();
+        } finally {
+            syncing = false;
+        }
+    }
+
+    function liveUpdates() {
+        return events && events.readyState === EventSource.OPEN;
+    }
+
+    function matchesFilter(a) {
+        return !statusFilter || a.status === statusFilter;
+    }
+
+    // Bursts of events (a busy hour, an import) are coalesced into one refresh
+    let summariesTimer = null;
+    let reloadTimer = null;
+    function scheduleSummaries() {
+        clearTimeout(summariesTimer);
+        summariesTimer = setTimeout(() => { updateStats(); updateWeek(); }, 500);
+    }
+    function scheduleReload() {
+        clearTimeout(reloadTimer);
+        reloadTimer = setTimeout(loadAppointments, 1000);
     }
 
     // ==================== UPDATE STATS ====================
-    function updateStats(appts) {
-        const total = appts.length;
-        const pending = appts.filter(a => a.status === 'PENDING').length;
-        const confirmed = appts.filter(a => a.status === 'CONFIRMED').length;
-        const cancelled = appts.filter(a => a.status === 'CANCELLED').length;
+    // Totals come from server-side counters, not from the rows loaded on this page.
+    async function updateStats() {
+        try {
+            const res = await apiFetch(`${API_BASE_URL}/api/appointments/stats?adminPassword=${encodeURIComponent(adminPassword)}`);
+            const stats = res.data || {};
+            setEl('statTotal', stats.total ?? 0);
+            setEl('statPending', stats.pending ?? 0);
+            setEl('statConfirmed', stats.confirmed ?? 0);
+            setEl('statCancelled', stats.cancelled ?? 0);
+        } catch (err) {
+            showToast('Failed to load stats: ' + err.message, 'error');
+        }
+    }
 
-        setEl('statTotal', total);
-        setEl('statPending', pending);
-        setEl('statConfirmed', confirmed);
-        setEl('statCancelled', cancelled);
+    // ==================== THIS WEEK ====================
+    // One aggregated response per week: counts per day, never the appointments themselves.
+    async function updateWeek() {
+        const el = document.getElementById('weekCalendar');
+        if (!el) return;
+        try {
+            const res = await apiFetch(`${API_BASE_URL}/api/appointments/calendar?adminPassword=${encodeURIComponent(adminPassword)}`);
+            const now = new Date();
+            const today = `${now.getFullYear()}-${String(now.getMonth() + 1).padStart(2, '0')}-${String(now.getDate()).padStart(2, '0')}`;
+            el.innerHTML = (res.data?.days || []).map(d => `
+              <div class="stat-card${d.date === today ? ' today' : ''}" title="Pending ${d.counts.pending} · Confirmed ${d.counts.confirmed} · Cancelled ${d.counts.cancelled}">
+                <span class="num">${d.counts.total}</span>
+                <span class="lbl">${new Date(d.date + 'T00:00').toLocaleDateString('en-GB', { weekday: 'short', day: 'numeric', month: 'short' })}</span>
+              </div>`).join('');
+        } catch (err) {
+            showToast('Failed to load calendar: ' + err.message, 'error');
+        }
     }
 
     function setEl(id, val) { const el = document.getElementById(id); if (el) el.textContent = val; }
 
+    // ==================== EXPORT (global) ====================
+    // The server streams the file; the browser downloads it without holding the rows in this page.
+    window.exportAppointments = function (format) {
+        let url = `${API_BASE_URL}/api/appointments/export?adminPassword=${encodeURIComponent(adminPassword)}&format=${format}`;
+        if (statusFilter) url += `&status=${encodeURIComponent(statusFilter)}`;
+        window.location.href = url;
+    };
+
+    // ==================== REASON (global) ====================
+    // The listing leaves the reason text out; it is fetched from the detail endpoint on demand.
+    window.showReason = async function (id) {
+        const cell = document.getElementById(`reason-${id}`);
+        try {
+            const res = await apiFetch(`${API_BASE_URL}/api/appointments/${id}?adminPassword=${encodeURIComponent(adminPassword)}`);
+            if (cell) cell.textContent = res.data?.reason || '—';
+        } catch (err) {
+            showToast('Failed to load reason: ' + err.message, 'error');
+        }
+    };
+
     // ==================== UPDATE STATUS (global) ====================
     window.updateStatus = async function (id, status) {
         try {
@@ -132,7 +299,8 @@ document.addEventListener('DOMContentLoaded', () => {
                 body: JSON.stringify({ status }),
             });
             showToast(`Appointment #${id} marked as ${status}.`, 'success');
-            await loadAppointments();
+            // With live events the row is updated by the "status" event
+            if (!liveUpdates()) await loadAppointments();
         } catch (err) {
             showToast('Failed to update: ' + err.message, 'error');
         }
@@ -147,7 +315,7 @@ document.addEventListener('DOMContentLoaded', () => {
             });
             showToast(`Appointment #${id} deleted.`, 'success');
             document.getElementById(`row-${id}`)?.remove();
-            await loadAppointments();
+            if (!liveUpdates()) await loadAppointments();
         } catch (err) {
             showToast('Failed to delete: ' + err.message, 'error');
         }
@@ -159,19 +327,8 @@ document.addEventListener('DOMContentLoaded', () => {
     // ==================== FILTER ====================
     window.filterByStatus = async function (status) {
         if (!tbody) return;
-        try {
-            const url = status
-                ? `${API_BASE_URL}/api/appointments?adminPassword=${encodeURIComponent(adminPassword)}`
-                : `${API_BASE_URL}/api/appointments?adminPassword=${encodeURIComponent(adminPassword)}`;
-            const res = await apiFetch(url);
-            const appts = status
-                ? (res.data || []).filter(a => a.status === status)
-                : (res.data || []);
-            tbody.innerHTML = '';
-            appts.forEach(renderRow);
-        } catch (err) {
-            showToast('Filter failed: ' + err.message, 'error');
-        }
+        statusFilter = status || '';
+        await loadAppointments();
     };
 
     // ==================== HTML ESCAPE ====================